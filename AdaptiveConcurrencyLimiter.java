@@ -0,0 +1,65 @@
+package X.presentation.search;
+
+import java.time.Duration;
+
+/**
+ * Concurrency limit shared by reads and writes, adjusted by additive increase / multiplicative decrease on write
+ * latency: it grows slowly while writes finish under their latency threshold and shrinks when they do not, at most
+ * once per decrease window, so a burst of slow writes that all started under the old limit only counts once.
+ * Writes may only use the part of the limit not reserved for reads; reads are always admitted.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double readReserve;
+    private final long decreaseWindowNanos;
+    private double limit;
+    private long decreasedAt;
+    private int reads;
+    private int writes;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double readReserve, Duration decreaseWindow, long now) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.readReserve = readReserve;
+        this.decreaseWindowNanos = decreaseWindow.toNanos();
+        this.decreasedAt = now - decreaseWindowNanos;
+    }
+
+    synchronized void acquireRead() {
+        reads++;
+    }
+
+    synchronized void releaseRead() {
+        reads--;
+    }
+
+    synchronized boolean tryAcquireWrite() {
+        int writeLimit = Math.max(1, (int) (limit * (1 - readReserve)));
+        if (writes >= writeLimit || reads + writes >= limit) {
+            return false;
+        }
+        writes++;
+        return true;
+    }
+
+    synchronized void releaseWrite(boolean overloaded, long now) {
+        writes--;
+        if (overloaded) {
+            if (now - decreasedAt >= decreaseWindowNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                decreasedAt = now;
+            }
+        } else {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    synchronized double limit() {
+        return limit;
+    }
+}
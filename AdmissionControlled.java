@@ -0,0 +1,25 @@
+package X.presentation.search;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method under {@link VerificationAdmissionFilter}. Writes are rate limited and shed when
+ * Elasticsearch slows down; reads are never shed but count against the shared concurrency limit, which keeps
+ * a reserved share of it out of reach of writes.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionControlled {
+
+    Kind value();
+
+    enum Kind {
+        READ,
+        WRITE
+    }
+}
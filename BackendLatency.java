@@ -0,0 +1,68 @@
+package X.presentation.search;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time an admitted write spends in its backend calls (Elasticsearch requests, sync runs), as opposed to the whole
+ * exchange, which for streamed bulk bodies includes the client's upload and for syncs the coalescer's queue, and
+ * whether the backend pushed back on any of them. Elasticsearch answers overload with fast per-item 429s inside a
+ * successful bulk response, so latency alone does not show it. {@link VerificationAdmissionFilter} puts one in the
+ * Reactor context of each admitted write and feeds both to its concurrency limiter.
+ */
+final class BackendLatency {
+
+    static final String CONTEXT_KEY = BackendLatency.class.getName();
+
+    private final AtomicLong slowestNanos = new AtomicLong(-1);
+    private volatile boolean overloaded;
+
+    /**
+     * Times each subscription to {@code call} against the current write, if there is one.
+     */
+    static <T> Mono<T> timed(Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            Optional<BackendLatency> latency = context.getOrEmpty(CONTEXT_KEY);
+            if (latency.isEmpty()) {
+                return call;
+            }
+            long start = System.nanoTime();
+            return call.doFinally(signal -> latency.get().record(System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Marks the current write as having hit an overloaded or failing backend: rejected bulk items, or a bulk
+     * request that kept failing through its retries.
+     */
+    static Mono<Void> overloaded() {
+        return Mono.deferContextual(context -> {
+            context.<BackendLatency>getOrEmpty(CONTEXT_KEY).ifPresent(latency -> latency.overloaded = true);
+            return Mono.empty();
+        });
+    }
+
+    static void record(ContextView context, long nanos) {
+        context.<BackendLatency>getOrEmpty(CONTEXT_KEY).ifPresent(latency -> latency.record(nanos));
+    }
+
+    void record(long nanos) {
+        if (nanos >= 0) {
+            slowestNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * The slowest backend call so far, or -1 when none was made.
+     */
+    long slowestNanos() {
+        return slowestNanos.get();
+    }
+
+    boolean isOverloaded() {
+        return overloaded;
+    }
+}
@@ -0,0 +1,53 @@
+package X.presentation.search;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Looks up the controller method a verification API request is routed to, once per exchange: the first web filter
+ * to ask resolves it and stores it as an exchange attribute for the others. Filters using it only run it for paths
+ * under {@link #PATH_PREFIX}, since they run ahead of Spring Security and the rest of the application is none of
+ * their business.
+ */
+@Component
+public class HandlerMethodResolver {
+
+    static final String PATH_PREFIX = "/api/products";
+
+    private static final String HANDLER_METHOD_ATTRIBUTE = HandlerMethodResolver.class.getName() + ".handlerMethod";
+
+    private final RequestMappingHandlerMapping handlerMapping;
+
+    public HandlerMethodResolver(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    static boolean isVerificationApi(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().pathWithinApplication().value().startsWith(PATH_PREFIX);
+    }
+
+    /**
+     * The handler method of {@code exchange}, or empty when it is not routed to a controller method. Mapping errors
+     * such as 405, 406 and 415 also resolve to empty, so they are raised later by the dispatcher, after
+     * authentication, rather than from a filter.
+     */
+    public Mono<HandlerMethod> resolve(ServerWebExchange exchange) {
+        Optional<HandlerMethod> resolved = exchange.getAttribute(HANDLER_METHOD_ATTRIBUTE);
+        if (resolved != null) {
+            return Mono.justOrEmpty(resolved);
+        }
+        return handlerMapping.getHandler(exchange)
+                .ofType(HandlerMethod.class)
+                .map(Optional::of)
+                .onErrorResume(e -> Mono.empty())
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(handler -> exchange.getAttributes().put(HANDLER_METHOD_ATTRIBUTE, handler))
+                .flatMap(Mono::justOrEmpty);
+    }
+}
@@ -0,0 +1,21 @@
+package X.presentation.search;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Themis permission a handler method requires. {@link ThemisAuthorizationFilter} starts the check as soon as the
+ * request is routed; the handler waits for it with {@link ThemisAuthorizationFilter#authorized()}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresThemisPermission {
+
+    String action();
+
+    String resource();
+}
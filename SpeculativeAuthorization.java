@@ -0,0 +1,74 @@
+package X.presentation.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-only queries alongside the request's authorization instead of after it, so a read costs roughly
+ * max(authorize, query) rather than their sum. Whatever the query signals, a result, no result or an error, is held
+ * back until authorization succeeds; on deny the caller only ever sees 403, the query is cancelled, or its result
+ * dropped if it already finished, and counted as wasted. Disabled by default, in which case the query is only
+ * created once authorization succeeds.
+ */
+@Component
+public class SpeculativeAuthorization {
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+
+    public SpeculativeAuthorization(
+            @Value("${verification.speculative-authorization.enabled:false}") boolean enabled,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> read(String endpoint, Supplier<Mono<T>> query) {
+        return read(endpoint, query, true);
+    }
+
+    /**
+     * For queries loaded through a shared cache, which keep running when the request is cancelled: on deny their
+     * work is always counted as discarded.
+     */
+    public <T> Mono<T> readThroughCache(String endpoint, Supplier<Mono<T>> query) {
+        return read(endpoint, query, false);
+    }
+
+    private <T> Mono<T> read(String endpoint, Supplier<Mono<T>> query, boolean cancellable) {
+        if (!enabled) {
+            return ThemisAuthorizationFilter.authorized().then(Mono.defer(query));
+        }
+        return Mono.defer(() -> {
+            AtomicBoolean queryDone = new AtomicBoolean();
+            return Mono.zip(
+                            ThemisAuthorizationFilter.authorized().thenReturn(Boolean.TRUE),
+                            Mono.defer(query).materialize().doOnNext(signal -> queryDone.set(true)),
+                            (authorized, signal) -> signal)
+                    .doOnError(ResponseStatusException.class, e -> {
+                        if (e.getStatusCode().value() == HttpStatus.FORBIDDEN.value()) {
+                            countWasted(endpoint, queryDone.get() || !cancellable ? "discarded" : "cancelled");
+                        }
+                    })
+                    .<T>dematerialize();
+        });
+    }
+
+    private void countWasted(String endpoint, String outcome) {
+        Counter.builder("verification.speculative.wasted")
+                .description("Speculative queries whose work was thrown away because authorization was denied")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
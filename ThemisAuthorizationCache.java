@@ -0,0 +1,61 @@
+package X.presentation.search;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import X.appcore.service.themis.ThemisService;
+import X.appcore.service.themis.dto.ThemisAuthRequestDTO;
+import X.appcore.service.themis.dto.ThemisPermission;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of Themis authorization decisions keyed on (token, action, resource).
+ * Concurrent misses for the same key share a single in-flight Themis call; failed calls are not cached.
+ * The Themis call runs with the Reactor context of the caller that started it, so it is traced as part of that
+ * caller's request.
+ */
+@Component
+public class ThemisAuthorizationCache {
+
+    private final ThemisService themisService;
+    private final AsyncCache<Key, Boolean> decisions;
+
+    public ThemisAuthorizationCache(
+            ThemisService themisService,
+            MeterRegistry meterRegistry,
+            @Value("${themis.authorization-cache.ttl:30s}") Duration ttl,
+            @Value("${themis.authorization-cache.maximum-size:10000}") long maximumSize
+    ) {
+        this.themisService = themisService;
+        this.decisions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, "themis.authorization");
+    }
+
+    public Mono<Boolean> isAllowed(String token, ThemisPermission permission) {
+        Key key = new Key(token, permission.getAction(), permission.getResource());
+        return Mono.deferContextual(context -> Mono.fromFuture(() -> decisions.get(key, (k, executor) -> themisService.authorize(
+                                ThemisAuthRequestDTO.builder()
+                                        .token(k.token())
+                                        .action(k.action())
+                                        .resource(k.resource())
+                                        .build()
+                        )
+                        .map(authResponse -> Boolean.TRUE.equals(authResponse.getAllowed()))
+                        .defaultIfEmpty(false)
+                        .contextWrite(context)
+                        .toFuture()),
+                true));
+    }
+
+    private record Key(String token, String action, String resource) {
+    }
+}
@@ -0,0 +1,112 @@
+package X.presentation.search;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+import X.appcore.service.themis.dto.ThemisPermission;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authorizes requests to handler methods annotated with {@link RequiresThemisPermission}. The Themis check is
+ * started as soon as the route is resolved, so it runs while the request body is still being decoded; the handler
+ * only waits for the decision before doing its own work, via {@link #authorized()}. Handlers that call
+ * {@link #authorized()} without the annotation are always denied. Runs first, so that
+ * {@link VerificationAdmissionFilter} can charge only authorized requests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ThemisAuthorizationFilter implements WebFilter {
+
+    static final String AUTHORIZATION_HEADER = "X-Authorization";
+
+    private static final String DECISION_KEY = ThemisAuthorizationFilter.class.getName() + ".decision";
+
+    private final HandlerMethodResolver handlerMethodResolver;
+    private final ThemisAuthorizationCache themisAuthorizationCache;
+    private final VerificationMetrics verificationMetrics;
+    private final Map<Method, Optional<Route>> routes = new ConcurrentHashMap<>();
+
+    public ThemisAuthorizationFilter(
+            HandlerMethodResolver handlerMethodResolver,
+            ThemisAuthorizationCache themisAuthorizationCache,
+            VerificationMetrics verificationMetrics
+    ) {
+        this.handlerMethodResolver = handlerMethodResolver;
+        this.themisAuthorizationCache = themisAuthorizationCache;
+        this.verificationMetrics = verificationMetrics;
+    }
+
+    /**
+     * Completes empty once the current request is authorized, or fails with 403 Forbidden.
+     */
+    public static Mono<Void> authorized() {
+        return Mono.deferContextual(context -> context.<Mono<Boolean>>getOrDefault(DECISION_KEY, Mono.just(false)))
+                .flatMap(allowed -> allowed
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied")));
+    }
+
+    /**
+     * The decision started for {@code exchange}, for filters running after this one. False when the route has no
+     * {@link RequiresThemisPermission}, since its handler cannot be authorized either.
+     */
+    static Mono<Boolean> decision(ServerWebExchange exchange) {
+        return exchange.getAttributeOrDefault(DECISION_KEY, Mono.just(false));
+    }
+
+    static Context withDecision(Mono<Boolean> decision) {
+        return Context.of(DECISION_KEY, decision);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!HandlerMethodResolver.isVerificationApi(exchange)) {
+            return chain.filter(exchange);
+        }
+        return Mono.deferContextual(requestContext -> handlerMethodResolver.resolve(exchange)
+                .mapNotNull(handler -> routes.computeIfAbsent(handler.getMethod(), ThemisAuthorizationFilter::route).orElse(null))
+                .map(route -> {
+                    Mono<Boolean> decision = start(route, exchange, requestContext);
+                    exchange.getAttributes().put(DECISION_KEY, decision);
+                    return withDecision(decision);
+                })
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context)));
+    }
+
+    /**
+     * Starts the check eagerly, with the request's context so the authorize observation and the Themis client
+     * span are part of the request trace.
+     */
+    private Mono<Boolean> start(Route route, ServerWebExchange exchange, ContextView requestContext) {
+        String token = exchange.getRequest().getHeaders().getFirst(AUTHORIZATION_HEADER);
+        if (token == null) {
+            return Mono.just(false);
+        }
+        return Mono.fromFuture(verificationMetrics.authorize(route.endpoint(), themisAuthorizationCache.isAllowed(token, route.permission()))
+                .contextWrite(requestContext)
+                .toFuture(), true);
+    }
+
+    private static Optional<Route> route(Method method) {
+        return Optional.ofNullable(method.getAnnotation(RequiresThemisPermission.class))
+                .map(annotation -> new Route(
+                        VerificationMetrics.endpointName(method),
+                        new ThemisPermission(annotation.action(), annotation.resource())));
+    }
+
+    private record Route(String endpoint, ThemisPermission permission) {
+    }
+}
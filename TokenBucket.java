@@ -0,0 +1,34 @@
+package X.presentation.search;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to its burst size.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double ratePerSecond, long burst, long now) {
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.capacity = burst;
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one will be available
+     */
+    synchronized long tryAcquire(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
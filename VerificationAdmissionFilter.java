@@ -0,0 +1,174 @@
+package X.presentation.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Admission control for handler methods annotated with {@link AdmissionControlled}. An authorized write must get a
+ * token from its caller's bucket and its endpoint's bucket and fit under the adaptive concurrency limit, otherwise
+ * it is answered with 429 and a Retry-After header before any Elasticsearch work is done. Runs after
+ * {@link ThemisAuthorizationFilter} and only charges requests once their authorization succeeded, keyed on the
+ * authorized token: unauthorized requests go straight to their handler, which answers 403, so they can neither
+ * use up the shared budgets nor get fresh caller buckets. Reads are counted against the concurrency limit from
+ * the moment they are authorized, without waiting for it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class VerificationAdmissionFilter implements WebFilter {
+
+    private static final Duration CONCURRENCY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final HandlerMethodResolver handlerMethodResolver;
+    private final VerificationAdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Map<String, TokenBucket> endpointBuckets = new ConcurrentHashMap<>();
+    private final Cache<String, TokenBucket> callerBuckets = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .maximumSize(100_000)
+            .build();
+    private final Map<Method, Optional<Route>> routes = new ConcurrentHashMap<>();
+
+    public VerificationAdmissionFilter(
+            HandlerMethodResolver handlerMethodResolver,
+            VerificationAdmissionProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.handlerMethodResolver = handlerMethodResolver;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.limiter = new AdaptiveConcurrencyLimiter(
+                properties.getInitialConcurrency(),
+                properties.getMinConcurrency(),
+                properties.getMaxConcurrency(),
+                properties.getReadReserve(),
+                properties.getConcurrencyDecreaseWindow(),
+                System.nanoTime());
+        Gauge.builder("verification.admission.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled() || !HandlerMethodResolver.isVerificationApi(exchange)) {
+            return chain.filter(exchange);
+        }
+        return handlerMethodResolver.resolve(exchange)
+                .mapNotNull(handler -> routes.computeIfAbsent(handler.getMethod(), VerificationAdmissionFilter::route).orElse(null))
+                .map(route -> route.kind() == AdmissionControlled.Kind.READ
+                        ? read(exchange, chain)
+                        : write(route.endpoint(), exchange, chain))
+                .defaultIfEmpty(Mono.defer(() -> chain.filter(exchange)))
+                .flatMap(Function.identity());
+    }
+
+    private Mono<Void> read(ServerWebExchange exchange, WebFilterChain chain) {
+        return Mono.defer(() -> {
+            // 0: not yet authorized, 1: counted, 2: finished
+            AtomicInteger state = new AtomicInteger();
+            Disposable counting = authorized(exchange)
+                    .filter(Boolean::booleanValue)
+                    .subscribe(allowed -> {
+                        if (state.compareAndSet(0, 1)) {
+                            limiter.acquireRead();
+                        }
+                    });
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        counting.dispose();
+                        if (state.getAndSet(2) == 1) {
+                            limiter.releaseRead();
+                        }
+                    });
+        });
+    }
+
+    private Mono<Void> write(String endpoint, ServerWebExchange exchange, WebFilterChain chain) {
+        return authorized(exchange)
+                .flatMap(allowed -> allowed ? admit(endpoint, exchange, chain) : chain.filter(exchange));
+    }
+
+    private Mono<Void> admit(String endpoint, ServerWebExchange exchange, WebFilterChain chain) {
+        return Mono.defer(() -> {
+            long now = System.nanoTime();
+            String caller = exchange.getRequest().getHeaders().getFirst(ThemisAuthorizationFilter.AUTHORIZATION_HEADER);
+            long wait = callerBuckets.get(caller, key -> new TokenBucket(properties.getCallerRate(), properties.getCallerBurst(), now))
+                    .tryAcquire(now);
+            if (wait > 0) {
+                return reject(exchange, endpoint, "caller_rate", wait);
+            }
+            VerificationAdmissionProperties.Endpoint limits = properties.limitsFor(endpoint);
+            wait = endpointBuckets.computeIfAbsent(endpoint, key -> new TokenBucket(limits.getRate(), limits.getBurst(), now))
+                    .tryAcquire(now);
+            if (wait > 0) {
+                return reject(exchange, endpoint, "endpoint_rate", wait);
+            }
+            if (!limiter.tryAcquireWrite()) {
+                return reject(exchange, endpoint, "concurrency", CONCURRENCY_RETRY_AFTER.toNanos());
+            }
+            AtomicBoolean failed = new AtomicBoolean();
+            BackendLatency latency = new BackendLatency();
+            return chain.filter(exchange)
+                    .doOnError(e -> failed.set(!(e instanceof ResponseStatusException statusException)
+                            || statusException.getStatusCode().is5xxServerError()))
+                    .doFinally(signal -> limiter.releaseWrite(
+                            failed.get() || latency.isOverloaded() || latency.slowestNanos() > limits.getLatencyThreshold().toNanos(),
+                            System.nanoTime()))
+                    .contextWrite(Context.of(BackendLatency.CONTEXT_KEY, latency));
+        });
+    }
+
+    /**
+     * The request's authorization decision; a failed Themis call counts as not authorized here and is reported by
+     * the handler.
+     */
+    private static Mono<Boolean> authorized(ServerWebExchange exchange) {
+        return ThemisAuthorizationFilter.decision(exchange).onErrorReturn(false);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String endpoint, String reason, long retryAfterNanos) {
+        Counter.builder("verification.admission.rejected")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999))));
+        return response.setComplete();
+    }
+
+    private static Optional<Route> route(Method method) {
+        return Optional.ofNullable(method.getAnnotation(AdmissionControlled.class))
+                .map(annotation -> new Route(VerificationMetrics.endpointName(method), annotation.value()));
+    }
+
+    private record Route(String endpoint, AdmissionControlled.Kind kind) {
+    }
+}
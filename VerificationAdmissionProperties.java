@@ -0,0 +1,69 @@
+package X.presentation.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "verification.admission")
+public class VerificationAdmissionProperties {
+
+    private boolean enabled = true;
+
+    /** Limits for write endpoints without their own entry in {@link #endpoints}. */
+    private Endpoint defaultEndpoint = new Endpoint(50, 100, Duration.ofMillis(500));
+
+    /**
+     * Limits per write endpoint, keyed by the kebab-case endpoint name, e.g.
+     * {@code verification.admission.endpoints.create-index-bulk.rate}. Relaxed binding drops underscores from map
+     * keys, so the snake_case names used in metrics would not match here.
+     */
+    private Map<String, Endpoint> endpoints = new HashMap<>(Map.of(
+            "create-index-bulk", new Endpoint(5, 10, Duration.ofSeconds(10))));
+
+    /**
+     * The limits of {@code endpoint}, given by its metrics name (see {@link VerificationMetrics#endpointName}).
+     */
+    Endpoint limitsFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint.replace('_', '-'), defaultEndpoint);
+    }
+
+    /** Authorized write requests per second allowed to a single caller across all write endpoints. */
+    private double callerRate = 10;
+
+    private long callerBurst = 20;
+
+    private int initialConcurrency = 32;
+
+    private int minConcurrency = 4;
+
+    private int maxConcurrency = 128;
+
+    /** Minimum time between two decreases of the concurrency limit. */
+    private Duration concurrencyDecreaseWindow = Duration.ofSeconds(1);
+
+    /** Share of the concurrency limit that only reads may use. */
+    private double readReserve = 0.3;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+
+        /** Sustained requests per second. */
+        private double rate;
+
+        /** Requests allowed at once after an idle period. */
+        private long burst;
+
+        /** Latency of a single backend call of a write above which the concurrency limit is lowered. */
+        private Duration latencyThreshold;
+    }
+}
@@ -0,0 +1,40 @@
+package X.presentation.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "verification.bulk-index")
+public class VerificationBulkIndexProperties {
+
+    /** Maximum number of documents sent in one Elasticsearch bulk request. */
+    private int chunkSize = 500;
+
+    /** Maximum serialized size of the documents sent in one Elasticsearch bulk request, estimated from a sample of them. */
+    private DataSize chunkBytes = DataSize.ofMegabytes(5);
+
+    /** Number of bulk requests in flight at once for a single upload. */
+    private int concurrency = 2;
+
+    /**
+     * Retries of a failed bulk request, and rounds of re-sending together the documents a bulk response rejected
+     * with a transient status.
+     */
+    private int maxRetries = 3;
+
+    /** First retry delay; later retries back off exponentially. */
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    /**
+     * Hold chunks column-encoded rather than as request objects, and send them as a raw bulk body. While a chunk is
+     * being sent it holds that rendered body next to its columns, as a list chunk holds its serialized request next
+     * to its objects, so the saving is the columns' smaller footprint, at the cost of one extra JSON pass per
+     * document.
+     */
+    private boolean compactEncoding = false;
+}
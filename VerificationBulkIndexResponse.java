@@ -0,0 +1,49 @@
+package X.presentation.search.dto.verification;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk index upload: counts for the whole upload and one entry per document that could not be indexed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationBulkIndexResponse {
+
+    @JsonProperty("total_count")
+    private long totalCount;
+
+    @JsonProperty("indexed_count")
+    private long indexedCount;
+
+    @JsonProperty("failed_count")
+    private long failedCount;
+
+    private List<Failure> failures;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+
+        private String id;
+
+        private String error;
+
+        /** HTTP status Elasticsearch gave the document in its bulk response; absent when the request as a whole failed. */
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Integer status;
+
+        public Failure(String id, String error) {
+            this(id, error, null);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package X.presentation.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import X.appcore.service.dataIndex.VerificationIndexService;
+import X.presentation.search.dto.verification.VerificationBulkIndexResponse;
+import X.presentation.search.dto.verification.VerificationIndexRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Feeds bulk uploads to Elasticsearch in chunks bounded by document count and serialized size, with a bounded
+ * number of chunks in flight. A failed bulk request is retried as a whole with backoff; documents the bulk response
+ * rejects as overloaded are re-sent together in a smaller bulk request, so one bad document does not fail the whole
+ * upload and an overloaded cluster is not sent one request per document.
+ *
+ * <p>With {@code verification.bulk-index.compact-encoding} each request is mapped to its index document as it
+ * arrives, with the same mapping the list path goes through, and the chunk is accumulated as a
+ * {@link VerificationIndexBatch} of those documents and sent as a pre-rendered bulk NDJSON body.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VerificationBulkIndexer {
+
+    private static final int SIZE_SAMPLE_INTERVAL = 32;
+
+    private final VerificationIndexService verificationIndexService;
+    private final VerificationBulkIndexProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public Mono<VerificationBulkIndexResponse> index(Flux<VerificationIndexRequest> items) {
+        Flux<ChunkResult> results = properties.isCompactEncoding()
+                ? Flux.defer(() -> items
+                                .map(new SizeEstimator())
+                                .windowUntil(new ChunkBoundary(properties.getChunkSize(), properties.getChunkBytes().toBytes()), true))
+                        .concatMap(chunk -> chunk.reduceWith(() -> new VerificationIndexBatch.Builder(objectMapper), (batch, document) -> batch.add(verificationIndexService.toDocument(document.item()))))
+                        .map(VerificationIndexBatch.Builder::build)
+                        .flatMap(this::indexBatch, properties.getConcurrency())
+                : Flux.defer(() -> items
+                                .map(new SizeEstimator())
+                                .bufferUntil(new ChunkBoundary(properties.getChunkSize(), properties.getChunkBytes().toBytes()), true))
+                        .flatMap(this::indexChunk, properties.getConcurrency());
+        return results
+                .reduceWith(Summary::new, Summary::add)
+                .map(Summary::toResponse);
+    }
+
+    private Mono<ChunkResult> indexChunk(List<Sized> chunk) {
+        List<VerificationIndexRequest> documents = chunk.stream().map(Sized::item).toList();
+        return indexWithRetries(
+                documents.stream().map(VerificationIndexRequest::getId).toList(),
+                ids -> BackendLatency.timed(Mono.defer(() -> verificationIndexService.indexBulk(ids == null
+                        ? documents
+                        : documents.stream().filter(document -> ids.contains(document.getId())).toList()))));
+    }
+
+    private Mono<ChunkResult> indexBatch(VerificationIndexBatch batch) {
+        return indexWithRetries(
+                IntStream.range(0, batch.size()).mapToObj(batch::id).toList(),
+                ids -> Mono.fromCallable(() -> ids == null ? batch.toBulkBody(objectMapper) : batch.toBulkBody(objectMapper, ids))
+                        .flatMap(body -> BackendLatency.timed(verificationIndexService.indexBulk(body))));
+    }
+
+    /**
+     * Sends a chunk, retrying the whole bulk request with backoff while it fails outright, so an overloaded cluster
+     * sees one request per chunk rather than one per document. Documents the bulk response rejects with a transient
+     * status (429, 502, 503, 504) are then re-sent together, as one smaller bulk request per round, after the same
+     * backoff; other rejections, such as mapping errors, are final. A request that still fails after its retries
+     * fails all the documents it carried.
+     *
+     * @param send sends the documents whose ids are given, or the whole chunk for null
+     */
+    private Mono<ChunkResult> indexWithRetries(
+            List<String> ids,
+            Function<Set<String>, Mono<List<VerificationBulkIndexResponse.Failure>>> send
+    ) {
+        return send(ids, null, send, 0)
+                .map(failures -> new ChunkResult(ids.size(), failures));
+    }
+
+    private Mono<List<VerificationBulkIndexResponse.Failure>> send(
+            List<String> ids,
+            Set<String> only,
+            Function<Set<String>, Mono<List<VerificationBulkIndexResponse.Failure>>> send,
+            int round
+    ) {
+        return send.apply(only)
+                .retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff()))
+                .flatMap(failures -> {
+                    Set<String> transientIds = failures.stream()
+                            .filter(VerificationBulkIndexer::isTransient)
+                            .map(VerificationBulkIndexResponse.Failure::getId)
+                            .collect(Collectors.toSet());
+                    if (transientIds.isEmpty()) {
+                        return Mono.just(failures);
+                    }
+                    if (round >= properties.getMaxRetries()) {
+                        return BackendLatency.overloaded().thenReturn(failures);
+                    }
+                    log.warn("Bulk index rejected {} of {} documents, re-sending them", transientIds.size(), only == null ? ids.size() : only.size());
+                    List<VerificationBulkIndexResponse.Failure> permanent = failures.stream()
+                            .filter(failure -> !transientIds.contains(failure.getId()))
+                            .toList();
+                    return BackendLatency.overloaded()
+                            .then(Mono.delay(properties.getRetryBackoff().multipliedBy(1L << round)))
+                            .then(send(ids, transientIds, send, round + 1))
+                            .map(retried -> {
+                                List<VerificationBulkIndexResponse.Failure> all = new ArrayList<>(permanent);
+                                all.addAll(retried);
+                                return all;
+                            });
+                })
+                .onErrorResume(e -> {
+                    Throwable cause = Exceptions.isRetryExhausted(e) ? e.getCause() : e;
+                    List<String> sent = only == null ? ids : List.copyOf(only);
+                    log.warn("Bulk index of {} documents failed", sent.size(), cause);
+                    return BackendLatency.overloaded().thenReturn(sent.stream()
+                            .map(id -> new VerificationBulkIndexResponse.Failure(id, String.valueOf(cause.getMessage())))
+                            .toList());
+                });
+    }
+
+    static boolean isTransient(VerificationBulkIndexResponse.Failure failure) {
+        Integer status = failure.getStatus();
+        return status != null && (status == 429 || status == 502 || status == 503 || status == 504);
+    }
+
+    private record Sized(VerificationIndexRequest item, long bytes) {
+    }
+
+    private record ChunkResult(int size, List<VerificationBulkIndexResponse.Failure> failures) {
+    }
+
+    /**
+     * Serialized size of each document: measured on the first document and every {@value #SIZE_SAMPLE_INTERVAL}th
+     * after it, estimated from the average of the measured ones for the rest, so most documents are not serialized
+     * just to be counted. Chunk byte limits are approximate as a result. Stateful, so a new instance is needed per
+     * subscription.
+     */
+    private final class SizeEstimator implements Function<VerificationIndexRequest, Sized> {
+
+        private long seen;
+        private long measured;
+        private long measuredBytes;
+
+        @Override
+        public Sized apply(VerificationIndexRequest document) {
+            if (seen++ % SIZE_SAMPLE_INTERVAL != 0) {
+                return new Sized(document, measuredBytes / measured);
+            }
+            CountingOutputStream out = new CountingOutputStream();
+            try {
+                objectMapper.writeValue(out, document);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            measured++;
+            measuredBytes += out.count;
+            return new Sized(document, out.count);
+        }
+    }
+
+    /**
+     * Cuts the stream before the document that would push the current chunk over either limit.
+     * Stateful, so a new instance is needed per subscription.
+     */
+    private static final class ChunkBoundary implements Predicate<Sized> {
+
+        private final int maxItems;
+        private final long maxBytes;
+        private int items;
+        private long bytes;
+
+        ChunkBoundary(int maxItems, long maxBytes) {
+            this.maxItems = maxItems;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public boolean test(Sized document) {
+            boolean cut = items > 0 && (items + 1 > maxItems || bytes + document.bytes() > maxBytes);
+            if (cut) {
+                items = 0;
+                bytes = 0;
+            }
+            items++;
+            bytes += document.bytes();
+            return cut;
+        }
+    }
+
+    private static final class Summary {
+
+        private long total;
+        private final List<VerificationBulkIndexResponse.Failure> failures = new ArrayList<>();
+
+        Summary add(ChunkResult chunk) {
+            total += chunk.size();
+            failures.addAll(chunk.failures());
+            return this;
+        }
+
+        VerificationBulkIndexResponse toResponse() {
+            return VerificationBulkIndexResponse.builder()
+                    .totalCount(total)
+                    .indexedCount(total - failures.size())
+                    .failedCount(failures.size())
+                    .failures(failures)
+                    .build();
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -13,21 +13,30 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import X.appcore.domain.model.es.verification.VerificationDashboardIndex;
-import X.appcore.service.aggregation.RetailStreamProcessorService;
 import X.appcore.service.dataIndex.VerificationIndexService;
-import X.appcore.service.themis.ThemisService;
-import X.appcore.service.themis.dto.ThemisAuthRequestDTO;
-import X.appcore.service.themis.dto.ThemisPermission;
+import X.presentation.search.dto.verification.VerificationBulkIndexResponse;
+import X.presentation.search.dto.verification.VerificationIndexCursor;
+import X.presentation.search.dto.verification.VerificationIndexPage;
 import X.presentation.search.dto.verification.VerificationIndexRequest;
 import X.presentation.search.dto.verification.VerificationIndexResponse;
 import X.presentation.search.dto.verification.VerificationIndexSearchRequest;
+import X.presentation.search.dto.verification.VerificationIndexSearchResult;
+import X.presentation.search.dto.verification.VerificationMultiGetItem;
+import X.presentation.search.dto.verification.VerificationMultiGetRequest;
+import X.presentation.search.dto.verification.VerificationSearchFacet;
+import X.presentation.search.dto.verification.VerificationSourceFilter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/products")
@@ -37,19 +46,28 @@ import java.util.Map;
 @Slf4j
 public class VerificationController {
 
-    private final ThemisService themisService;
     private final VerificationIndexService verificationIndexService;
-    private final RetailStreamProcessorService retailStreamProcessorService;
+    private final VerificationBulkIndexer verificationBulkIndexer;
+    private final VerificationSearchCache verificationSearchCache;
+    private final VerificationSyncCoalescer verificationSyncCoalescer;
+    private final VerificationMetrics verificationMetrics;
+    private final SpeculativeAuthorization speculativeAuthorization;
+    private final VerificationCursorCodec verificationCursorCodec;
 
-    private final ThemisPermission LISTING_PERMISSION = new ThemisPermission("RetailVerification:List", "trn:X:pricing");
-    private final ThemisPermission VIEW_PERMISSION = new ThemisPermission("RetailVerification:View", "trn:X:pricing");
-    private final ThemisPermission UPDATE_PERMISSION = new ThemisPermission("RetailVerification:Update", "trn:X:pricing");
-    private final ThemisPermission CREATE_PERMISSION = new ThemisPermission("RetailVerification:Create", "trn:X:pricing");
-    private final ThemisPermission DELETE_PERMISSION = new ThemisPermission("RetailVerification:Delete", "trn:X:pricing");
+    private static final String PRICING_RESOURCE = "trn:X:pricing";
+    private static final String LISTING_ACTION = "RetailVerification:List";
+    private static final String VIEW_ACTION = "RetailVerification:View";
+    private static final String UPDATE_ACTION = "RetailVerification:Update";
+    private static final String CREATE_ACTION = "RetailVerification:Create";
+    private static final String DELETE_ACTION = "RetailVerification:Delete";
+
+    private static final int MAX_MULTI_GET_IDS = 1000;
+    private static final String NULL_FIELDS_OMITTED = ". Fields that are null, or left out by fields / exclude_fields, " +
+            "are omitted from the returned documents rather than written as null";
 
     @Operation(
             summary = "Search verification products",
-            description = "Search product verification index with filters and category permission",
+            description = "Search product verification index with filters and category permission" + NULL_FIELDS_OMITTED,
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
                     content = @Content(
                             mediaType = "application/json",
@@ -65,25 +83,140 @@ public class VerificationController {
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = VerificationIndexResponse.class)))),
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
+    @AdmissionControlled(AdmissionControlled.Kind.READ)
+    @RequiresThemisPermission(action = LISTING_ACTION, resource = PRICING_RESOURCE)
     @PostMapping("/search")
     public Mono<List<VerificationIndexResponse>> search(
-        @RequestHeader(value = "X-Authorization") String userToken,
+        @RequestParam(value = "fields", required = false) List<String> fields,
+        @RequestParam(value = "exclude_fields", required = false) List<String> excludeFields,
+        @RequestBody VerificationIndexSearchRequest request
+    ) {
+        VerificationSourceFilter sourceFilter = VerificationSourceFilter.of(fields, excludeFields);
+        return verificationMetrics.endpoint("search", speculativeAuthorization.readThroughCache("search",
+                () -> verificationMetrics.service("search", verificationSearchCache.search(request, sourceFilter,
+                        () -> verificationIndexService.search(request, sourceFilter).collectList()))));
+    }
+
+    @Operation(
+            summary = "Stream verification products",
+            description = "Search product verification index and stream the hits as newline-delimited JSON while they are fetched" +
+                    NULL_FIELDS_OMITTED,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Default Search Example",
+                                    summary = "A sample search body",
+                                    value = "{\"brand_ids\":[],\"competitors\":[],\"product_type\":[2],\"seller_availabilities\":[],\"product_variant_options\":[],\"is_finished_verifying\":null,\"pageview_band\":[\"B\",\"A\",\"C\",\"D\"],\"resolved_date_range\":null,\"is_purchasable\":null,\"is_bpg\":null,\"pageview_l30d\":{},\"listBrandSave\":[],\"categories\":[],\"variant\":false,\"variant_price\":false,\"product_name_keyword\":null,\"sort\":[{\"field\":\"page_view\",\"order\":\"des\"}],\"offset\":0,\"limit\":10}"
+                            )
+                    ))
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = VerificationIndexResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @AdmissionControlled(AdmissionControlled.Kind.READ)
+    @RequiresThemisPermission(action = LISTING_ACTION, resource = PRICING_RESOURCE)
+    @PostMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<VerificationIndexResponse> searchStream(
+        @RequestParam(value = "fields", required = false) List<String> fields,
+        @RequestParam(value = "exclude_fields", required = false) List<String> excludeFields,
         @RequestBody VerificationIndexSearchRequest request
     ) {
-        return themisService.authorize(
-                        ThemisAuthRequestDTO.builder()
-                                .token(userToken)
-                                .action(LISTING_PERMISSION.getAction())
-                                .resource(LISTING_PERMISSION.getResource())
-                                .build()
-                )
-                .flatMap(authResponse -> {
-                    if (!authResponse.getAllowed()) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
+        return verificationMetrics.endpoint("search_stream", ThemisAuthorizationFilter.authorized()
+                .thenMany(Flux.defer(() -> verificationMetrics.service("search_stream",
+                        verificationIndexService.search(request, VerificationSourceFilter.of(fields, excludeFields))))));
+    }
+
+    @Operation(
+            summary = "Search verification products by cursor",
+            description = "Search product verification index page by page using an opaque cursor instead of offset. " +
+                    "Omit the cursor for the first page, then pass back next_cursor until it is null" + NULL_FIELDS_OMITTED,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Default Search Example",
+                                    summary = "A sample search body",
+                                    value = "{\"brand_ids\":[],\"competitors\":[],\"product_type\":[2],\"seller_availabilities\":[],\"product_variant_options\":[],\"is_finished_verifying\":null,\"pageview_band\":[\"B\",\"A\",\"C\",\"D\"],\"resolved_date_range\":null,\"is_purchasable\":null,\"is_bpg\":null,\"pageview_l30d\":{},\"listBrandSave\":[],\"categories\":[],\"variant\":false,\"variant_price\":false,\"product_name_keyword\":null,\"sort\":[{\"field\":\"page_view\",\"order\":\"des\"}],\"offset\":0,\"limit\":10}"
+                            )
+                    ))
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success",
+                    content = @Content(schema = @Schema(implementation = VerificationIndexPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, or a cursor from a search with different filters or sort"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @AdmissionControlled(AdmissionControlled.Kind.READ)
+    @RequiresThemisPermission(action = LISTING_ACTION, resource = PRICING_RESOURCE)
+    @PostMapping("/search/page")
+    public Mono<VerificationIndexPage> searchPage(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "fields", required = false) List<String> fields,
+        @RequestParam(value = "exclude_fields", required = false) List<String> excludeFields,
+        @RequestBody VerificationIndexSearchRequest request
+    ) {
+        return verificationMetrics.endpoint("search_page", ThemisAuthorizationFilter.authorized()
+                .then(Mono.defer(() -> {
+                    VerificationIndexCursor position;
+                    try {
+                        position = cursor == null ? null : verificationCursorCodec.decode(cursor, request);
+                    } catch (IllegalArgumentException e) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
                     }
-                    return verificationIndexService.search(request).collectList();
-                });
+                    return verificationMetrics.service("search_page",
+                                    verificationIndexService.searchPage(request, position, VerificationSourceFilter.of(fields, excludeFields)))
+                            .map(page -> signed(page, request));
+                })));
+    }
 
+    @Operation(
+            summary = "Search and count verification products",
+            description = "Search product verification index and return the hits together with the total count " +
+                    "and optional facet counts, from a single search" + NULL_FIELDS_OMITTED,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Default Search Example",
+                                    summary = "A sample search body",
+                                    value = "{\"brand_ids\":[],\"competitors\":[],\"product_type\":[2],\"seller_availabilities\":[],\"product_variant_options\":[],\"is_finished_verifying\":null,\"pageview_band\":[\"B\",\"A\",\"C\",\"D\"],\"resolved_date_range\":null,\"is_purchasable\":null,\"is_bpg\":null,\"pageview_l30d\":{},\"listBrandSave\":[],\"categories\":[],\"variant\":false,\"variant_price\":false,\"product_name_keyword\":null,\"sort\":[{\"field\":\"page_view\",\"order\":\"des\"}],\"offset\":0,\"limit\":10}"
+                            )
+                    ))
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success",
+                    content = @Content(schema = @Schema(implementation = VerificationIndexSearchResult.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown facet"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @AdmissionControlled(AdmissionControlled.Kind.READ)
+    @RequiresThemisPermission(action = LISTING_ACTION, resource = PRICING_RESOURCE)
+    @PostMapping("/search/with-count")
+    public Mono<VerificationIndexSearchResult> searchWithCount(
+        @RequestParam(value = "fields", required = false) List<String> fields,
+        @RequestParam(value = "exclude_fields", required = false) List<String> excludeFields,
+        @RequestParam(value = "facets", required = false) List<String> facets,
+        @RequestBody VerificationIndexSearchRequest request
+    ) {
+        // validated inside the read, so unauthorized callers get 403 rather than 400
+        return verificationMetrics.endpoint("search_with_count", speculativeAuthorization.read("search_with_count",
+                () -> searchFacets(facets).flatMap(searchFacets -> verificationMetrics.service("search_with_count",
+                        verificationIndexService.searchWithCount(request, VerificationSourceFilter.of(fields, excludeFields), searchFacets)))));
+    }
+
+    private static Mono<List<VerificationSearchFacet>> searchFacets(List<String> facets) {
+        List<VerificationSearchFacet> searchFacets = new ArrayList<>();
+        for (String facet : facets == null ? List.<String>of() : facets) {
+            Optional<VerificationSearchFacet> searchFacet = VerificationSearchFacet.fromField(facet);
+            if (searchFacet.isEmpty()) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown facet: " + facet));
+            }
+            searchFacets.add(searchFacet.get());
+        }
+        return Mono.just(searchFacets);
     }
 
     @Operation(
@@ -103,25 +236,15 @@ public class VerificationController {
             @ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(example = "{\"total_count\": 1234}"))),
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
+    @AdmissionControlled(AdmissionControlled.Kind.READ)
+    @RequiresThemisPermission(action = LISTING_ACTION, resource = PRICING_RESOURCE)
     @PostMapping("/count")
     public Mono<Map<String, Long>> count(
-        @RequestHeader(value = "X-Authorization") String userToken,
         @RequestBody VerificationIndexSearchRequest request
     ) {
-        return themisService.authorize(
-                        ThemisAuthRequestDTO.builder()
-                                .token(userToken)
-                                .action(LISTING_PERMISSION.getAction())
-                                .resource(LISTING_PERMISSION.getResource())
-                                .build()
-                )
-                .flatMap(authResponse -> {
-                    if (!authResponse.getAllowed()) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
-                    }
-                    return verificationIndexService.count(request)
-                            .map(count -> Map.of("total_count", count));
-                });
+        return verificationMetrics.endpoint("count", speculativeAuthorization.readThroughCache("count",
+                        () -> verificationMetrics.service("count", verificationSearchCache.count(request, () -> verificationIndexService.count(request))))
+                .map(count -> Map.of("total_count", count)));
     }
 
     @Operation(
@@ -139,91 +262,148 @@ public class VerificationController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Created successfully"),
-            @ApiResponse(responseCode = "403", description = "Forbidden")
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "429", description = "Too many requests, retry after the Retry-After delay")
     })
+    @AdmissionControlled(AdmissionControlled.Kind.WRITE)
+    @RequiresThemisPermission(action = CREATE_ACTION, resource = PRICING_RESOURCE)
     @PostMapping("/index")
     public Mono<Void> createIndex(
-        @RequestHeader(value = "X-Authorization") String userToken,
         @RequestBody VerificationIndexRequest index
     ) {
-        return themisService.authorize(
-                        ThemisAuthRequestDTO.builder()
-                                .token(userToken)
-                                .action(CREATE_PERMISSION.getAction())
-                                .resource(CREATE_PERMISSION.getResource())
-                                .build()
-                )
-                .flatMap(authResponse -> {
-                    if (!authResponse.getAllowed()) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
-                    }
-                    return verificationIndexService.createIndex(index).then();}
-                );
+        return verificationMetrics.endpoint("create_index", ThemisAuthorizationFilter.authorized()
+                .then(Mono.defer(() -> verificationMetrics.service("create_index", BackendLatency.timed(verificationIndexService.createIndex(index).then()))
+                        .doFinally(signal -> verificationSearchCache.invalidate()))));
     }
 
     @Operation(
             summary = "Bulk create verification indices",
-            description = "Create verification indices in bulk",
+            description = "Create verification indices in bulk. The body is a JSON array or newline-delimited JSON, " +
+                    "decoded and indexed incrementally as it is received",
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
-                    content = @Content(
-                            mediaType = "application/json",
-                            examples = @ExampleObject(
-                                    name = "Default Example",
-                                    summary = "A sample body",
-                                    value = "[{\"max_competitiveness_percent\":null,\"category_name\":\"Tiểu Thuyết Phương Đông\",\"competitor_summary\":null,\"min_competitiveness_percent\":null,\"main_image\":null,\"variant_type\":null,\"links_max_price\":null,\"site_max_price_list\":null,\"subcategory_name\":\"Book & Office Supplies\",\"created_at\":\"2025-07-01 12:02:17\",\"is_1p_available\":true,\"category_id\":67996,\"is_purchasable\":false,\"last_resolved_date\":null,\"price\":180000.0,\"pageview_l7d\":null,\"max_competitiveness_price\":null,\"id\":\"278226963\",\"category_ids\":[8322,316,839,844,67996],\"super_id\":null,\"total_verified_link\":null,\"seller_id\":1,\"master_pageview\":null,\"is_finished_verifying\":null,\"is_3p_available\":false,\"competitor_availability\":null,\"pageview_band_week\":null,\"min_competitiveness_price\":null,\"links_min_price\":null,\"product_name\":\"Con Chim Joong Bay Từ A Đến Z\",\"site_min_price_list\":null,\"brand_id\":null,\"pageview_band\":null,\"last_updated_at\":\"2025-07-01 12:02:17\",\"last_processed_at\":null,\"ssku_seller\":null,\"product_skus\":[\"9630162296261\",\"9630162296261\"],\"master_product_sku\":\"9630162296261\",\"pageview_l30d\":null,\"external_site_ids\":null}]"
+                    content = {
+                            @Content(
+                                    mediaType = "application/json",
+                                    examples = @ExampleObject(
+                                            name = "Default Example",
+                                            summary = "A sample body",
+                                            value = "[{\"max_competitiveness_percent\":null,\"category_name\":\"Tiểu Thuyết Phương Đông\",\"competitor_summary\":null,\"min_competitiveness_percent\":null,\"main_image\":null,\"variant_type\":null,\"links_max_price\":null,\"site_max_price_list\":null,\"subcategory_name\":\"Book & Office Supplies\",\"created_at\":\"2025-07-01 12:02:17\",\"is_1p_available\":true,\"category_id\":67996,\"is_purchasable\":false,\"last_resolved_date\":null,\"price\":180000.0,\"pageview_l7d\":null,\"max_competitiveness_price\":null,\"id\":\"278226963\",\"category_ids\":[8322,316,839,844,67996],\"super_id\":null,\"total_verified_link\":null,\"seller_id\":1,\"master_pageview\":null,\"is_finished_verifying\":null,\"is_3p_available\":false,\"competitor_availability\":null,\"pageview_band_week\":null,\"min_competitiveness_price\":null,\"links_min_price\":null,\"product_name\":\"Con Chim Joong Bay Từ A Đến Z\",\"site_min_price_list\":null,\"brand_id\":null,\"pageview_band\":null,\"last_updated_at\":\"2025-07-01 12:02:17\",\"last_processed_at\":null,\"ssku_seller\":null,\"product_skus\":[\"9630162296261\",\"9630162296261\"],\"master_product_sku\":\"9630162296261\",\"pageview_l30d\":null,\"external_site_ids\":null}]"
+                                    )
+                            ),
+                            @Content(
+                                    mediaType = "application/x-ndjson",
+                                    examples = @ExampleObject(
+                                            name = "NDJSON Example",
+                                            summary = "A sample newline-delimited body",
+                                            value = "{\"max_competitiveness_percent\":null,\"category_name\":\"Tiểu Thuyết Phương Đông\",\"competitor_summary\":null,\"min_competitiveness_percent\":null,\"main_image\":null,\"variant_type\":null,\"links_max_price\":null,\"site_max_price_list\":null,\"subcategory_name\":\"Book & Office Supplies\",\"created_at\":\"2025-07-01 12:02:17\",\"is_1p_available\":true,\"category_id\":67996,\"is_purchasable\":false,\"last_resolved_date\":null,\"price\":180000.0,\"pageview_l7d\":null,\"max_competitiveness_price\":null,\"id\":\"278226963\",\"category_ids\":[8322,316,839,844,67996],\"super_id\":null,\"total_verified_link\":null,\"seller_id\":1,\"master_pageview\":null,\"is_finished_verifying\":null,\"is_3p_available\":false,\"competitor_availability\":null,\"pageview_band_week\":null,\"min_competitiveness_price\":null,\"links_min_price\":null,\"product_name\":\"Con Chim Joong Bay Từ A Đến Z\",\"site_min_price_list\":null,\"brand_id\":null,\"pageview_band\":null,\"last_updated_at\":\"2025-07-01 12:02:17\",\"last_processed_at\":null,\"ssku_seller\":null,\"product_skus\":[\"9630162296261\",\"9630162296261\"],\"master_product_sku\":\"9630162296261\",\"pageview_l30d\":null,\"external_site_ids\":null}\n{\"max_competitiveness_percent\":null,\"category_name\":\"Tiểu Thuyết Phương Đông\",\"competitor_summary\":null,\"min_competitiveness_percent\":null,\"main_image\":null,\"variant_type\":null,\"links_max_price\":null,\"site_max_price_list\":null,\"subcategory_name\":\"Book & Office Supplies\",\"created_at\":\"2025-07-01 12:02:17\",\"is_1p_available\":true,\"category_id\":67996,\"is_purchasable\":false,\"last_resolved_date\":null,\"price\":180000.0,\"pageview_l7d\":null,\"max_competitiveness_price\":null,\"id\":\"278226963\",\"category_ids\":[8322,316,839,844,67996],\"super_id\":null,\"total_verified_link\":null,\"seller_id\":1,\"master_pageview\":null,\"is_finished_verifying\":null,\"is_3p_available\":false,\"competitor_availability\":null,\"pageview_band_week\":null,\"min_competitiveness_price\":null,\"links_min_price\":null,\"product_name\":\"Con Chim Joong Bay Từ A Đến Z\",\"site_min_price_list\":null,\"brand_id\":null,\"pageview_band\":null,\"last_updated_at\":\"2025-07-01 12:02:17\",\"last_processed_at\":null,\"ssku_seller\":null,\"product_skus\":[\"9630162296261\",\"9630162296261\"],\"master_product_sku\":\"9630162296261\",\"pageview_l30d\":null,\"external_site_ids\":null}"
+                                    )
                             )
-                    ))
+                    })
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Bulk indexed successfully"),
-            @ApiResponse(responseCode = "403", description = "Forbidden")
+            @ApiResponse(responseCode = "200", description = "Every document indexed",
+                    content = @Content(schema = @Schema(implementation = VerificationBulkIndexResponse.class))),
+            @ApiResponse(responseCode = "207", description = "Some documents indexed, with the ones that could not be",
+                    content = @Content(schema = @Schema(implementation = VerificationBulkIndexResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "422", description = "No document indexed, all rejected as invalid",
+                    content = @Content(schema = @Schema(implementation = VerificationBulkIndexResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many requests, retry after the Retry-After delay"),
+            @ApiResponse(responseCode = "503", description = "No document indexed because Elasticsearch failed or was overloaded",
+                    content = @Content(schema = @Schema(implementation = VerificationBulkIndexResponse.class)))
     })
-    @PostMapping("/index/bulk")
-    public Mono<Void> createIndexBulk(
-        @RequestHeader(value = "X-Authorization") String userToken,
-        @RequestBody List<VerificationIndexRequest> indexItems
+    @AdmissionControlled(AdmissionControlled.Kind.WRITE)
+    @RequiresThemisPermission(action = CREATE_ACTION, resource = PRICING_RESOURCE)
+    @PostMapping(value = "/index/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<VerificationBulkIndexResponse>> createIndexBulk(
+        @RequestBody Flux<VerificationIndexRequest> indexItems
     ) {
-        return themisService.authorize(
-                        ThemisAuthRequestDTO.builder()
-                                .token(userToken)
-                                .action(CREATE_PERMISSION.getAction())
-                                .resource(CREATE_PERMISSION.getResource())
-                                .build()
-                )
-                .flatMap(authResponse -> {
-                    if (!authResponse.getAllowed()) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
-                    }
-                    return verificationIndexService.createIndexBulk(indexItems).then();
-                });
+        return verificationMetrics.endpoint("create_index_bulk", ThemisAuthorizationFilter.authorized()
+                .then(Mono.defer(() -> verificationMetrics.service("create_index_bulk", verificationBulkIndexer.index(indexItems))
+                        .doFinally(signal -> verificationSearchCache.invalidate())))
+                .map(response -> ResponseEntity.status(bulkStatus(response)).body(response)));
+    }
+
+    /**
+     * 200 when every document was indexed and 207 when only some were. When none were, 503 if any failed for a
+     * reason worth retrying later (Elasticsearch down or overloaded), otherwise 422.
+     */
+    private static HttpStatus bulkStatus(VerificationBulkIndexResponse response) {
+        if (response.getFailedCount() == 0) {
+            return HttpStatus.OK;
+        }
+        if (response.getIndexedCount() > 0) {
+            return HttpStatus.MULTI_STATUS;
+        }
+        boolean retryable = response.getFailures().stream()
+                .anyMatch(failure -> failure.getStatus() == null || VerificationBulkIndexer.isTransient(failure));
+        return retryable ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.UNPROCESSABLE_ENTITY;
     }
 
     @Operation(
             summary = "Get verification index by ID",
-            description = "Retrieve detailed verification info for a product"
+            description = "Retrieve detailed verification info for a product" + NULL_FIELDS_OMITTED
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(implementation = VerificationDashboardIndex.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
+    @AdmissionControlled(AdmissionControlled.Kind.READ)
+    @RequiresThemisPermission(action = VIEW_ACTION, resource = PRICING_RESOURCE)
     @GetMapping("/{id}")
     public Mono<VerificationDashboardIndex> get(
-        @RequestHeader(value = "X-Authorization") String userToken,
-        @PathVariable(value = "id") String id
+        @PathVariable(value = "id") String id,
+        @RequestParam(value = "fields", required = false) List<String> fields,
+        @RequestParam(value = "exclude_fields", required = false) List<String> excludeFields
     ) {
-        return themisService.authorize(
-                        ThemisAuthRequestDTO.builder()
-                                .token(userToken)
-                                .action(VIEW_PERMISSION.getAction())
-                                .resource(VIEW_PERMISSION.getResource())
-                                .build()
-                )
-                .flatMap(authResponse -> {
-                            if (!authResponse.getAllowed()) {
-                                return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
-                            }
-                            return verificationIndexService.findById(id);}
-                );
+        return verificationMetrics.endpoint("get", speculativeAuthorization.read("get",
+                () -> verificationMetrics.service("get", verificationIndexService.findById(id, VerificationSourceFilter.of(fields, excludeFields)))));
+    }
+
+    @Operation(
+            summary = "Get verification indices by IDs",
+            description = "Retrieve verification info for several products in one call, in request order. " +
+                    "Documents always include their id, whatever fields are requested" + NULL_FIELDS_OMITTED,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Default Example",
+                                    summary = "A sample body",
+                                    value = "{\"ids\":[\"278226963\",\"278226964\"],\"fields\":[\"product_name\",\"price\",\"links_min_price\"]}"
+                            )
+                    ))
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = VerificationMultiGetItem.class)))),
+            @ApiResponse(responseCode = "400", description = "Missing or too many IDs"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @AdmissionControlled(AdmissionControlled.Kind.READ)
+    @RequiresThemisPermission(action = VIEW_ACTION, resource = PRICING_RESOURCE)
+    @PostMapping("/_mget")
+    public Mono<List<VerificationMultiGetItem>> multiGet(
+        @RequestBody VerificationMultiGetRequest request
+    ) {
+        List<String> ids = request.getIds();
+        // validated inside the read, so unauthorized callers get 403 rather than 400
+        return verificationMetrics.endpoint("multi_get", speculativeAuthorization.read("multi_get",
+                        () -> ids == null || ids.isEmpty() || ids.size() > MAX_MULTI_GET_IDS
+                                ? Mono.<Map<String, VerificationDashboardIndex>>error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                        "Between 1 and " + MAX_MULTI_GET_IDS + " ids are required"))
+                                : verificationMetrics.service("multi_get",
+                                        // results are matched to the requested ids by the id field, so it is fetched whatever the projection
+                                        verificationIndexService.multiGet(ids.stream().distinct().toList(),
+                                                        VerificationSourceFilter.of(request.getFields(), request.getExcludeFields()).including("id"))
+                                                .collectMap(VerificationDashboardIndex::getId)))
+                .map(found -> ids.stream()
+                        .map(id -> VerificationMultiGetItem.builder()
+                                .id(id)
+                                .found(found.containsKey(id))
+                                .document(found.get(id))
+                                .build())
+                        .toList()));
     }
 
     @Operation(
@@ -234,11 +414,14 @@ public class VerificationController {
             @ApiResponse(responseCode = "200", description = "Deleted successfully"),
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
+    @RequiresThemisPermission(action = DELETE_ACTION, resource = PRICING_RESOURCE)
     @DeleteMapping("/index/{id}")
     public Mono<Void> deleteIndex(
             @PathVariable(value = "id") String id
     ) {
-        return verificationIndexService.deleteIndex(id);
+        return verificationMetrics.endpoint("delete_index", ThemisAuthorizationFilter.authorized()
+                .then(Mono.defer(() -> verificationMetrics.service("delete_index", verificationIndexService.deleteIndex(id))
+                        .doFinally(signal -> verificationSearchCache.invalidate()))));
     }
 
     @Operation(
@@ -247,28 +430,28 @@ public class VerificationController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Created successfully"),
-            @ApiResponse(responseCode = "403", description = "Forbidden")
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "429", description = "Too many requests, retry after the Retry-After delay")
     })
+    @AdmissionControlled(AdmissionControlled.Kind.WRITE)
+    @RequiresThemisPermission(action = CREATE_ACTION, resource = PRICING_RESOURCE)
     @PostMapping("/index/{master_product_id}/sync")
     public Mono<Void> sync(
-            @RequestHeader(value = "X-Authorization") String userToken,
             @PathVariable(value = "master_product_id") Long masterProductId
     ) {
-        return this.themisService.authorize(
-                        ThemisAuthRequestDTO.builder()
-                                .token(userToken)
-                                .action(CREATE_PERMISSION.getAction())
-                                .resource(CREATE_PERMISSION.getResource())
-                                .build()
-                )
-                .flatMap(authResponse -> {
-                    if (!authResponse.getAllowed()) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
-                    }
+        return this.verificationMetrics.endpoint("sync", ThemisAuthorizationFilter.authorized()
+                .then(Mono.defer(() -> {
                     log.info("Sync verification index: {}", masterProductId);
-                    return this.retailStreamProcessorService.processVerificationDashboardIndex(masterProductId)
-                            .then();
-                });
+                    return this.verificationMetrics.service("sync", this.verificationSyncCoalescer.sync(masterProductId))
+                            .doFinally(signal -> this.verificationSearchCache.invalidate());
+                })));
+    }
+
+    private VerificationIndexPage signed(VerificationIndexPage page, VerificationIndexSearchRequest request) {
+        if (page.getNextCursor() != null) {
+            page.setNextCursor(verificationCursorCodec.encode(VerificationIndexCursor.decode(page.getNextCursor()), request));
+        }
+        return page;
     }
 
 }
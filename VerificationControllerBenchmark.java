@@ -0,0 +1,262 @@
+package X.presentation.search;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import X.appcore.domain.model.es.verification.VerificationDashboardIndex;
+import X.appcore.service.aggregation.RetailStreamProcessorService;
+import X.appcore.service.aggregation.VerificationDashboardIndexDiffer;
+import X.appcore.service.aggregation.VerificationDashboardIndexUpdater;
+import X.appcore.service.dataIndex.VerificationIndexService;
+import X.appcore.service.themis.ThemisService;
+import X.appcore.service.themis.dto.ThemisAuthRequestDTO;
+import X.appcore.service.themis.dto.ThemisPermission;
+import X.presentation.search.dto.verification.VerificationBulkIndexResponse;
+import X.presentation.search.dto.verification.VerificationIndexRequest;
+import X.presentation.search.dto.verification.VerificationIndexResponse;
+import X.presentation.search.dto.verification.VerificationIndexSearchRequest;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@link VerificationController} against in-memory services, so the controller's own cost
+ * (authorization plumbing, Reactor operator chains, Jackson) is measured without Themis or Elasticsearch.
+ * The services are Mockito mocks answering with canned results, so the benchmark only depends on the service
+ * methods it calls; their dispatch cost is the same for every parameter combination.
+ * The authorization decision is supplied the way {@link ThemisAuthorizationFilter} supplies it.
+ * Run {@link #main} to get throughput, sampled latency and the gc profiler's allocation rate.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerificationControllerBenchmark {
+
+    private static final String TOKEN = "benchmark-token";
+
+    private static final ThemisPermission LISTING_PERMISSION = new ThemisPermission("RetailVerification:List", "trn:X:pricing");
+    private static final ThemisPermission VIEW_PERMISSION = new ThemisPermission("RetailVerification:View", "trn:X:pricing");
+    private static final ThemisPermission CREATE_PERMISSION = new ThemisPermission("RetailVerification:Create", "trn:X:pricing");
+
+    private static final String DOCUMENT_JSON = "{\"max_competitiveness_percent\":null,\"category_name\":\"Tiểu Thuyết Phương Đông\",\"competitor_summary\":null,\"min_competitiveness_percent\":null,\"main_image\":null,\"variant_type\":null,\"links_max_price\":null,\"site_max_price_list\":null,\"subcategory_name\":\"Book & Office Supplies\",\"created_at\":\"2025-07-01 12:02:17\",\"is_1p_available\":true,\"category_id\":67996,\"is_purchasable\":false,\"last_resolved_date\":null,\"price\":180000.0,\"pageview_l7d\":null,\"max_competitiveness_price\":null,\"id\":\"278226963\",\"category_ids\":[8322,316,839,844,67996],\"super_id\":null,\"total_verified_link\":null,\"seller_id\":1,\"master_pageview\":null,\"is_finished_verifying\":null,\"is_3p_available\":false,\"competitor_availability\":null,\"pageview_band_week\":null,\"min_competitiveness_price\":null,\"links_min_price\":null,\"product_name\":\"Con Chim Joong Bay Từ A Đến Z\",\"site_min_price_list\":null,\"brand_id\":null,\"pageview_band\":null,\"last_updated_at\":\"2025-07-01 12:02:17\",\"last_processed_at\":null,\"ssku_seller\":null,\"product_skus\":[\"9630162296261\",\"9630162296261\"],\"master_product_sku\":\"9630162296261\",\"pageview_l30d\":null,\"external_site_ids\":null}";
+
+    private static final String SEARCH_JSON = "{\"brand_ids\":[],\"competitors\":[],\"product_type\":[2],\"seller_availabilities\":[],\"product_variant_options\":[],\"is_finished_verifying\":null,\"pageview_band\":[\"B\",\"A\",\"C\",\"D\"],\"resolved_date_range\":null,\"is_purchasable\":null,\"is_bpg\":null,\"pageview_l30d\":{},\"listBrandSave\":[],\"categories\":[],\"variant\":false,\"variant_price\":false,\"product_name_keyword\":null,\"sort\":[{\"field\":\"page_view\",\"order\":\"des\"}],\"offset\":0,\"limit\":10}";
+
+    /** Answers publisher-returning service methods with an empty publisher. */
+    private static final Answer<Object> EMPTY_PUBLISHERS = invocation -> {
+        Class<?> returnType = invocation.getMethod().getReturnType();
+        if (returnType == Mono.class) {
+            return Mono.empty();
+        }
+        if (returnType == Flux.class) {
+            return Flux.empty();
+        }
+        return Mockito.RETURNS_DEFAULTS.answer(invocation);
+    };
+
+    @State(Scope.Benchmark)
+    public static class Controller {
+
+        /** TTL of the authorization and search caches; 0s measures every request going through to the services. */
+        @Param({"0s", "30s"})
+        public String cacheTtl;
+
+        @Param({"10", "100"})
+        public int hits;
+
+        @Param({"1000"})
+        public int bulkSize;
+
+        @Param({"false", "true"})
+        public boolean speculative;
+
+        private VerificationController controller;
+        private ThemisAuthorizationCache authorizationCache;
+        private VerificationSyncCoalescer syncCoalescer;
+        private VerificationIndexSearchRequest searchRequest;
+        private List<VerificationIndexRequest> bulkItems;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            ObjectMapper objectMapper = objectMapper();
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            Duration ttl = Duration.parse("PT" + cacheTtl.toUpperCase());
+
+            searchRequest = objectMapper.readValue(SEARCH_JSON, VerificationIndexSearchRequest.class);
+            bulkItems = Collections.nCopies(bulkSize, objectMapper.readValue(DOCUMENT_JSON, VerificationIndexRequest.class));
+            List<VerificationIndexResponse> searchHits = Collections.nCopies(hits, objectMapper.readValue(DOCUMENT_JSON, VerificationIndexResponse.class));
+            VerificationDashboardIndex document = objectMapper.readValue(DOCUMENT_JSON, VerificationDashboardIndex.class);
+
+            VerificationIndexService indexService = stub(VerificationIndexService.class, invocation -> switch (invocation.getMethod().getName()) {
+                case "search" -> Flux.fromIterable(searchHits);
+                case "count" -> Mono.just((long) searchHits.size());
+                case "findById" -> Mono.just(document);
+                case "multiGet" -> Flux.fromIterable(Collections.nCopies(invocation.<List<?>>getArgument(0).size(), document));
+                case "indexBulk" -> Mono.just(List.of());
+                case "toDocument" -> document;
+                default -> EMPTY_PUBLISHERS.answer(invocation);
+            });
+            Object allowed = allowedResponse();
+            ThemisService themisService = stub(ThemisService.class, invocation -> "authorize".equals(invocation.getMethod().getName())
+                    ? Mono.just(allowed)
+                    : EMPTY_PUBLISHERS.answer(invocation));
+            RetailStreamProcessorService retailStreamProcessorService = stub(RetailStreamProcessorService.class, EMPTY_PUBLISHERS);
+
+            VerificationSearchRequestNormalizer normalizer = new VerificationSearchRequestNormalizer(objectMapper);
+            authorizationCache = new ThemisAuthorizationCache(themisService, meterRegistry, ttl, 10_000);
+            syncCoalescer = new VerificationSyncCoalescer(new VerificationDashboardIndexUpdater(retailStreamProcessorService, indexService,
+                    new VerificationDashboardIndexDiffer(objectMapper, meterRegistry), true), 4);
+            controller = new VerificationController(
+                    indexService,
+                    new VerificationBulkIndexer(indexService, new VerificationBulkIndexProperties(), objectMapper),
+                    new VerificationSearchCache(normalizer, meterRegistry, ttl, 10_000, 50_000, Duration.ofSeconds(1)),
+                    syncCoalescer,
+                    new VerificationMetrics(meterRegistry, ObservationRegistry.NOOP),
+                    new SpeculativeAuthorization(speculative, meterRegistry),
+                    new VerificationCursorCodec(normalizer, "benchmark")
+            );
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            syncCoalescer.shutdown();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Codec {
+
+        private ObjectMapper objectMapper;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            objectMapper = objectMapper();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BulkPayload {
+
+        @Param({"1000"})
+        public int bulkSize;
+
+        private byte[] payload;
+
+        @Setup(Level.Trial)
+        public void setUp(Codec codec) throws IOException {
+            payload = codec.objectMapper.writeValueAsBytes(Collections.nCopies(bulkSize,
+                    codec.objectMapper.readValue(DOCUMENT_JSON, VerificationIndexRequest.class)));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchResponse {
+
+        @Param({"10", "100"})
+        public int hits;
+
+        private List<VerificationIndexResponse> items;
+
+        @Setup(Level.Trial)
+        public void setUp(Codec codec) throws IOException {
+            items = Collections.nCopies(hits, codec.objectMapper.readValue(DOCUMENT_JSON, VerificationIndexResponse.class));
+        }
+    }
+
+    @Benchmark
+    public List<VerificationIndexResponse> search(Controller state) {
+        return state.controller.search(null, null, state.searchRequest)
+                .contextWrite(ThemisAuthorizationFilter.withDecision(state.authorizationCache.isAllowed(TOKEN, LISTING_PERMISSION)))
+                .block();
+    }
+
+    @Benchmark
+    public VerificationBulkIndexResponse createIndexBulk(Controller state) {
+        return state.controller.createIndexBulk(Flux.fromIterable(state.bulkItems))
+                .contextWrite(ThemisAuthorizationFilter.withDecision(state.authorizationCache.isAllowed(TOKEN, CREATE_PERMISSION)))
+                .map(ResponseEntity::getBody)
+                .block();
+    }
+
+    @Benchmark
+    public VerificationDashboardIndex get(Controller state) {
+        return state.controller.get("278226963", null, null)
+                .contextWrite(ThemisAuthorizationFilter.withDecision(state.authorizationCache.isAllowed(TOKEN, VIEW_PERMISSION)))
+                .block();
+    }
+
+    @Benchmark
+    public VerificationIndexSearchRequest decodeSearchRequest(Codec codec) throws IOException {
+        return codec.objectMapper.readValue(SEARCH_JSON, VerificationIndexSearchRequest.class);
+    }
+
+    @Benchmark
+    public VerificationIndexRequest[] decodeBulkPayload(Codec codec, BulkPayload bulk) throws IOException {
+        return codec.objectMapper.readValue(bulk.payload, VerificationIndexRequest[].class);
+    }
+
+    @Benchmark
+    public byte[] encodeSearchResponse(Codec codec, SearchResponse response) throws IOException {
+        return codec.objectMapper.writeValueAsBytes(response.items);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VerificationControllerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * A Themis response that allows the request, of whatever type {@link ThemisService#authorize} emits.
+     */
+    private static Object allowedResponse() throws NoSuchMethodException {
+        ParameterizedType authorizeType = (ParameterizedType) ThemisService.class
+                .getMethod("authorize", ThemisAuthRequestDTO.class)
+                .getGenericReturnType();
+        return stub((Class<?>) authorizeType.getActualTypeArguments()[0], invocation -> "getAllowed".equals(invocation.getMethod().getName())
+                ? Boolean.TRUE
+                : Mockito.RETURNS_DEFAULTS.answer(invocation));
+    }
+
+    /**
+     * A mock that keeps no record of its invocations, so a long run does not retain every call and its arguments.
+     */
+    private static <T> T stub(Class<T> type, Answer<Object> answer) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly().defaultAnswer(answer));
+    }
+}
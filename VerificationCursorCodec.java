@@ -0,0 +1,86 @@
+package X.presentation.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import X.presentation.search.dto.verification.VerificationIndexCursor;
+import X.presentation.search.dto.verification.VerificationIndexSearchRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Signs the cursors of {@code /search/page} with an HMAC over the cursor's position and the normalized search, so
+ * that a cursor is only accepted back for the search that produced it and exactly as the server issued it.
+ * {@code verification.cursor.secret} must be the same on every instance behind the same load balancer; without it,
+ * each instance signs with a random key and its cursors are only accepted by itself.
+ */
+@Component
+@Slf4j
+public class VerificationCursorCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final VerificationSearchRequestNormalizer normalizer;
+    private final SecretKeySpec key;
+
+    public VerificationCursorCodec(
+            VerificationSearchRequestNormalizer normalizer,
+            @Value("${verification.cursor.secret:}") String secret
+    ) {
+        this.normalizer = normalizer;
+        byte[] keyBytes;
+        if (secret.isEmpty()) {
+            log.warn("verification.cursor.secret is not set, search cursors are only valid on this instance");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public String encode(VerificationIndexCursor position, VerificationIndexSearchRequest request) {
+        VerificationIndexCursor signed = unsigned(position);
+        signed.setSignature(sign(signed, request));
+        return signed.encode();
+    }
+
+    /**
+     * The position in {@code cursor}, failing with {@link IllegalArgumentException} when it is malformed, was not
+     * issued by this service, or was issued for a different search.
+     */
+    public VerificationIndexCursor decode(String cursor, VerificationIndexSearchRequest request) {
+        VerificationIndexCursor position = VerificationIndexCursor.decode(cursor);
+        String signature = position.getSignature();
+        VerificationIndexCursor unsigned = unsigned(position);
+        if (signature == null || !MessageDigest.isEqual(
+                signature.getBytes(StandardCharsets.US_ASCII),
+                sign(unsigned, request).getBytes(StandardCharsets.US_ASCII))) {
+            throw new IllegalArgumentException("Cursor does not match the search request");
+        }
+        return unsigned;
+    }
+
+    private String sign(VerificationIndexCursor unsigned, VerificationIndexSearchRequest request) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(normalizer.searchKey(request).getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '\n');
+            mac.update(unsigned.encode().getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static VerificationIndexCursor unsigned(VerificationIndexCursor position) {
+        return new VerificationIndexCursor(position.getPitId(), position.getSearchAfter(), null);
+    }
+}
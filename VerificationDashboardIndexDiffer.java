@@ -0,0 +1,126 @@
+package X.appcore.service.aggregation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import X.appcore.domain.model.es.verification.VerificationDashboardIndex;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Works out which fields of a recomputed {@link VerificationDashboardIndex} actually differ from the stored
+ * document, so {@link VerificationDashboardIndexUpdater} can send a partial update with just those fields, or skip
+ * the write entirely when nothing but bookkeeping timestamps changed.
+ * Fields are compared in their indexed JSON form; numbers are compared by value, so {@code 180000} and
+ * {@code 180000.0} are equal.
+ */
+@Component
+public class VerificationDashboardIndexDiffer {
+
+    /** Fields stamped on every recomputation; they are written along with real changes but never cause a write. */
+    private static final Set<String> BOOKKEEPING_FIELDS = Set.of("last_processed_at", "last_updated_at");
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public VerificationDashboardIndexDiffer(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Partial document of the fields of {@code recomputed} that differ from {@code current}, keyed by indexed
+     * field name. Empty when the write would be a no-op; the whole document when there is no stored one yet.
+     */
+    public Map<String, Object> diff(VerificationDashboardIndex current, VerificationDashboardIndex recomputed) {
+        ObjectNode after = objectMapper.valueToTree(recomputed);
+        if (current == null) {
+            count("full");
+            return toMap(after, fieldNames(after));
+        }
+        ObjectNode before = objectMapper.valueToTree(current);
+
+        Set<String> fields = fieldNames(after);
+        fields.addAll(fieldNames(before));
+        Set<String> changed = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (!BOOKKEEPING_FIELDS.contains(field) && !sameValue(before.get(field), after.get(field))) {
+                changed.add(field);
+            }
+        }
+        if (changed.isEmpty()) {
+            count("skipped");
+            return Map.of();
+        }
+        count("partial");
+        for (String field : BOOKKEEPING_FIELDS) {
+            if (after.has(field)) {
+                changed.add(field);
+            }
+        }
+        return toMap(after, changed);
+    }
+
+    private Map<String, Object> toMap(ObjectNode document, Set<String> fields) {
+        Map<String, Object> partial = new LinkedHashMap<>();
+        for (String field : fields) {
+            JsonNode value = document.get(field);
+            partial.put(field, value == null ? null : objectMapper.convertValue(value, Object.class));
+        }
+        return partial;
+    }
+
+    private static Set<String> fieldNames(ObjectNode document) {
+        Set<String> names = new LinkedHashSet<>();
+        document.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private static boolean isFinite(JsonNode number) {
+        return !number.isFloatingPointNumber() || number.isBigDecimal() || Double.isFinite(number.doubleValue());
+    }
+
+    private static boolean sameValue(JsonNode before, JsonNode after) {
+        before = before == null ? NullNode.getInstance() : before;
+        after = after == null ? NullNode.getInstance() : after;
+        if (before.isNumber() && after.isNumber()) {
+            if (!isFinite(before) || !isFinite(after)) {
+                // NaN and infinities have no BigDecimal form; decimalValue() would throw
+                return Double.compare(before.doubleValue(), after.doubleValue()) == 0;
+            }
+            return before.decimalValue().compareTo(after.decimalValue()) == 0;
+        }
+        if (before.isArray() && after.isArray()) {
+            if (before.size() != after.size()) {
+                return false;
+            }
+            for (int i = 0; i < before.size(); i++) {
+                if (!sameValue(before.get(i), after.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (before.isObject() && after.isObject()) {
+            Set<String> fields = fieldNames((ObjectNode) before);
+            fields.addAll(fieldNames((ObjectNode) after));
+            for (String field : fields) {
+                if (!sameValue(before.get(field), after.get(field))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return before.equals(after);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("verification.sync.writes", "outcome", outcome).increment();
+    }
+}
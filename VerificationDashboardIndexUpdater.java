@@ -0,0 +1,88 @@
+package X.appcore.service.aggregation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import X.appcore.domain.model.es.verification.VerificationDashboardIndex;
+import X.appcore.service.dataIndex.VerificationIndexService;
+import X.presentation.search.dto.verification.VerificationSourceFilter;
+import X.presentation.search.dto.verification.VerificationVersionedDocument;
+
+import java.util.Map;
+
+/**
+ * Syncs the verification dashboard documents of a master product by writing only what changed: the documents are
+ * recomputed, the stored ones fetched in one multi-get, each compared by {@link VerificationDashboardIndexDiffer},
+ * and sent as a partial update, or not written at all when nothing but bookkeeping timestamps moved.
+ *
+ * <p>Partial updates are conditional on the {@code _seq_no} and {@code _primary_term} the document was read at, since
+ * another replica or a full rewrite by the retail stream processor may change it between the read and the write.
+ * On a conflict the product falls back to a full rewrite, which leaves the index at the recomputed state whatever
+ * changed in between. With {@code verification.sync.partial-updates=false} every sync rewrites the documents whole
+ * through {@link RetailStreamProcessorService#processVerificationDashboardIndex(Long)}, as before.
+ */
+@Component
+@Slf4j
+public class VerificationDashboardIndexUpdater {
+
+    private final RetailStreamProcessorService retailStreamProcessorService;
+    private final VerificationIndexService verificationIndexService;
+    private final VerificationDashboardIndexDiffer differ;
+    private final boolean partialUpdates;
+
+    public VerificationDashboardIndexUpdater(
+            RetailStreamProcessorService retailStreamProcessorService,
+            VerificationIndexService verificationIndexService,
+            VerificationDashboardIndexDiffer differ,
+            @Value("${verification.sync.partial-updates:true}") boolean partialUpdates
+    ) {
+        this.retailStreamProcessorService = retailStreamProcessorService;
+        this.verificationIndexService = verificationIndexService;
+        this.differ = differ;
+        this.partialUpdates = partialUpdates;
+    }
+
+    public Mono<Void> sync(Long masterProductId) {
+        if (!partialUpdates) {
+            return rewrite(masterProductId);
+        }
+        return retailStreamProcessorService.computeVerificationDashboardIndex(masterProductId)
+                .collectList()
+                .filter(recomputed -> !recomputed.isEmpty())
+                .flatMap(recomputed -> verificationIndexService.multiGetVersioned(
+                                recomputed.stream().map(VerificationDashboardIndex::getId).toList(),
+                                VerificationSourceFilter.of(null, null))
+                        .collectMap(stored -> stored.getDocument().getId())
+                        .flatMap(stored -> Flux.fromIterable(recomputed)
+                                .concatMap(document -> write(document, stored.get(document.getId())))
+                                .all(Boolean::booleanValue)))
+                .flatMap(applied -> {
+                    if (applied) {
+                        return Mono.<Void>empty();
+                    }
+                    log.info("Verification index of {} changed during sync, rewriting it", masterProductId);
+                    return rewrite(masterProductId);
+                });
+    }
+
+    /**
+     * Writes what changed in {@code recomputed}, emitting false if {@code stored} was changed by someone else since
+     * it was read.
+     */
+    private Mono<Boolean> write(VerificationDashboardIndex recomputed, VerificationVersionedDocument stored) {
+        Map<String, Object> changed = differ.diff(stored == null ? null : stored.getDocument(), recomputed);
+        if (changed.isEmpty()) {
+            return Mono.just(true);
+        }
+        if (stored == null) {
+            return verificationIndexService.updateIndex(recomputed.getId(), changed).thenReturn(true);
+        }
+        return verificationIndexService.updateIndex(recomputed.getId(), changed, stored.getSeqNo(), stored.getPrimaryTerm());
+    }
+
+    private Mono<Void> rewrite(Long masterProductId) {
+        return retailStreamProcessorService.processVerificationDashboardIndex(masterProductId).then();
+    }
+}
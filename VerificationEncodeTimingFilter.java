@@ -0,0 +1,31 @@
+package X.presentation.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Records the encode phase of verification API requests: the time between the controller's service call
+ * completing and the response being fully written.
+ */
+@Component
+@RequiredArgsConstructor
+public class VerificationEncodeTimingFilter implements WebFilter {
+
+    private final VerificationMetrics verificationMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!HandlerMethodResolver.isVerificationApi(exchange)) {
+            return chain.filter(exchange);
+        }
+        VerificationMetrics.EncodeClock clock = new VerificationMetrics.EncodeClock();
+        return chain.filter(exchange)
+                .doOnSuccess(ignored -> verificationMetrics.recordEncode(clock))
+                .contextWrite(Context.of(VerificationMetrics.ENCODE_CLOCK_KEY, clock));
+    }
+}
@@ -0,0 +1,379 @@
+package X.presentation.search;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import X.appcore.domain.model.es.verification.VerificationDashboardIndex;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Column-oriented, dictionary-encoded form of a chunk of {@link VerificationDashboardIndex} documents waiting to be
+ * indexed. Each JSON field becomes a column: longs and doubles in one primitive array (doubles as their raw bits),
+ * strings as codes into one dictionary shared by the whole batch (so repeated category names, SKUs and seller ids
+ * are stored once), id lists such as {@code category_ids} in a shared primitive pool, and nulls as bits. Anything
+ * else (nested objects, mixed arrays, big or float numbers) is kept as dictionary-encoded JSON text, so every value
+ * is written back exactly as the {@link ObjectMapper} would write it. {@link #toBulkBody} renders the
+ * Elasticsearch bulk NDJSON straight from the columns, without materializing the documents again. The rendered
+ * body is a full copy of the chunk, held alongside the columns while the chunk is being sent.
+ */
+final class VerificationIndexBatch {
+
+    private final Map<String, Column> columns;
+    private final String[] dictionary;
+    private final int size;
+
+    private VerificationIndexBatch(Map<String, Column> columns, String[] dictionary, int size) {
+        this.columns = columns;
+        this.dictionary = dictionary;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * The {@code id} field of a document, or null when it has none.
+     */
+    String id(int row) {
+        Column id = columns.get("id");
+        return id == null || !id.isValue(row) ? null : id.text(row, dictionary);
+    }
+
+    /**
+     * One {@code index} action and source line per document, keyed by the document's {@code id}.
+     * The target index is left to the bulk endpoint the body is sent to.
+     */
+    byte[] toBulkBody(ObjectMapper objectMapper) {
+        return toBulkBody(objectMapper, row -> true);
+    }
+
+    /**
+     * The bulk body of the documents whose {@code id} is in {@code ids}, for re-sending the ones a bulk response
+     * rejected.
+     */
+    byte[] toBulkBody(ObjectMapper objectMapper, Set<String> ids) {
+        return toBulkBody(objectMapper, row -> {
+            String id = id(row);
+            return id != null && ids.contains(id);
+        });
+    }
+
+    private byte[] toBulkBody(ObjectMapper objectMapper, IntPredicate rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeBulkBody(out, objectMapper, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeBulkBody(OutputStream out, ObjectMapper objectMapper, IntPredicate rows) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            Column id = columns.get("id");
+            for (int row = 0; row < size; row++) {
+                if (!rows.test(row)) {
+                    continue;
+                }
+                generator.writeStartObject();
+                generator.writeObjectFieldStart("index");
+                if (id != null && id.isValue(row)) {
+                    generator.writeFieldName("_id");
+                    id.write(row, generator, dictionary);
+                }
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                writeSource(row, generator);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeSource(int row, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, Column> column : columns.entrySet()) {
+            if (column.getValue().isPresent(row)) {
+                generator.writeFieldName(column.getKey());
+                column.getValue().write(row, generator, dictionary);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    static final class Builder {
+
+        private final ObjectMapper objectMapper;
+        private final ObjectReader treeReader;
+        private final Map<String, Column> columns = new LinkedHashMap<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int size;
+
+        Builder(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            // valueToTree would turn 0.10 into 0.1
+            this.treeReader = objectMapper.reader().without(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES);
+        }
+
+        Builder add(VerificationDashboardIndex document) {
+            ObjectNode source;
+            try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+                objectMapper.writeValue(buffer, document);
+                source = (ObjectNode) treeReader.readTree(buffer.asParser());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int row = size++;
+            for (Iterator<Map.Entry<String, JsonNode>> it = source.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                columns.computeIfAbsent(field.getKey(), name -> new Column())
+                        .append(row, field.getValue(), this);
+            }
+            return this;
+        }
+
+        VerificationIndexBatch build() {
+            return new VerificationIndexBatch(columns, dictionary.toArray(String[]::new), size);
+        }
+
+        private String toJson(JsonNode value) {
+            try {
+                return objectMapper.writeValueAsString(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private int encode(String value) {
+            return codes.computeIfAbsent(value, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+        }
+    }
+
+    private enum Kind {
+        NUMBER,
+        BOOLEAN,
+        STRING,
+        LONG_ARRAY,
+        STRING_ARRAY,
+        RAW
+    }
+
+    /**
+     * One field across all rows. Its kind is fixed by the first non-null value; a value that does not fit falls
+     * back to {@link Kind#RAW}.
+     */
+    private static final class Column {
+
+        private Kind kind;
+        private final BitSet present = new BitSet();
+        private final BitSet nulls = new BitSet();
+        /** NUMBER cells: the long itself, or the raw bits of a double when {@link #doubles} is set. */
+        private long[] numbers = new long[0];
+        private final BitSet doubles = new BitSet();
+        private final BitSet booleans = new BitSet();
+        /** Dictionary codes of STRING and RAW cells. */
+        private int[] codes = new int[0];
+        /** Start of each row's elements in the array pools, with the end at the next row's start. */
+        private int[] arrayBounds = new int[0];
+        private long[] longPool = new long[0];
+        private int[] codePool = new int[0];
+        private int poolSize;
+
+        boolean isPresent(int row) {
+            return present.get(row);
+        }
+
+        boolean isValue(int row) {
+            return present.get(row) && !nulls.get(row);
+        }
+
+        void append(int row, JsonNode value, Builder builder) {
+            present.set(row);
+            if (value.isNull()) {
+                nulls.set(row);
+                return;
+            }
+            Kind valueKind = kindOf(value);
+            if (kind == null) {
+                kind = valueKind;
+            } else if (kind != valueKind && kind != Kind.RAW) {
+                toRaw(row, builder);
+            }
+            set(row, value, builder);
+        }
+
+        private void set(int row, JsonNode value, Builder builder) {
+            switch (kind) {
+                case NUMBER -> {
+                    numbers = ensure(numbers, row);
+                    if (value.isDouble()) {
+                        numbers[row] = Double.doubleToRawLongBits(value.doubleValue());
+                        doubles.set(row);
+                    } else {
+                        numbers[row] = value.longValue();
+                    }
+                }
+                case BOOLEAN -> booleans.set(row, value.booleanValue());
+                case STRING -> {
+                    codes = ensure(codes, row);
+                    codes[row] = builder.encode(value.textValue());
+                }
+                case LONG_ARRAY, STRING_ARRAY -> {
+                    arrayBounds = ensure(arrayBounds, row + 1);
+                    arrayBounds[row] = poolSize;
+                    for (JsonNode element : value) {
+                        if (kind == Kind.LONG_ARRAY) {
+                            longPool = ensure(longPool, poolSize);
+                            longPool[poolSize++] = element.longValue();
+                        } else {
+                            codePool = ensure(codePool, poolSize);
+                            codePool[poolSize++] = builder.encode(element.textValue());
+                        }
+                    }
+                    arrayBounds[row + 1] = poolSize;
+                }
+                case RAW -> {
+                    codes = ensure(codes, row);
+                    codes[row] = builder.encode(builder.toJson(value));
+                }
+            }
+        }
+
+        String text(int row, String[] dictionary) {
+            return switch (kind) {
+                case NUMBER -> doubles.get(row) ? String.valueOf(Double.longBitsToDouble(numbers[row])) : String.valueOf(numbers[row]);
+                case STRING -> dictionary[codes[row]];
+                default -> null;
+            };
+        }
+
+        void write(int row, JsonGenerator generator, String[] dictionary) throws IOException {
+            if (nulls.get(row)) {
+                generator.writeNull();
+                return;
+            }
+            switch (kind) {
+                case NUMBER -> {
+                    if (doubles.get(row)) {
+                        generator.writeNumber(Double.longBitsToDouble(numbers[row]));
+                    } else {
+                        generator.writeNumber(numbers[row]);
+                    }
+                }
+                case BOOLEAN -> generator.writeBoolean(booleans.get(row));
+                case STRING -> generator.writeString(dictionary[codes[row]]);
+                case LONG_ARRAY -> {
+                    generator.writeStartArray();
+                    for (int i = arrayBounds[row]; i < arrayBounds[row + 1]; i++) {
+                        generator.writeNumber(longPool[i]);
+                    }
+                    generator.writeEndArray();
+                }
+                case STRING_ARRAY -> {
+                    generator.writeStartArray();
+                    for (int i = arrayBounds[row]; i < arrayBounds[row + 1]; i++) {
+                        generator.writeString(dictionary[codePool[i]]);
+                    }
+                    generator.writeEndArray();
+                }
+                case RAW -> generator.writeRawValue(dictionary[codes[row]]);
+            }
+        }
+
+        /**
+         * Re-encodes the rows before {@code rows} as JSON text, for a column whose values turned out not to share a kind.
+         */
+        private void toRaw(int rows, Builder builder) {
+            String[] dictionary = builder.dictionary.toArray(String[]::new);
+            int[] rawCodes = new int[Math.max(codes.length, rows + 1)];
+            for (int row = 0; row < rows; row++) {
+                if (isValue(row)) {
+                    rawCodes[row] = builder.encode(cellAsJson(row, builder.objectMapper, dictionary));
+                }
+            }
+            codes = rawCodes;
+            numbers = new long[0];
+            doubles.clear();
+            booleans.clear();
+            arrayBounds = new int[0];
+            longPool = new long[0];
+            codePool = new int[0];
+            poolSize = 0;
+            kind = Kind.RAW;
+        }
+
+        private String cellAsJson(int row, ObjectMapper objectMapper, String[] dictionary) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                write(row, generator, dictionary);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Only longs and doubles are held as NUMBER; floats, BigIntegers and BigDecimals would not be written back
+         * with the same digits, so they stay RAW.
+         */
+        private static Kind kindOf(JsonNode value) {
+            if ((value.isIntegralNumber() && value.canConvertToLong()) || value.isDouble()) {
+                return Kind.NUMBER;
+            }
+            if (value.isBoolean()) {
+                return Kind.BOOLEAN;
+            }
+            if (value.isTextual()) {
+                return Kind.STRING;
+            }
+            if (value.isArray()) {
+                boolean allLongs = true;
+                boolean allStrings = true;
+                for (JsonNode element : value) {
+                    allLongs &= element.isIntegralNumber() && element.canConvertToLong();
+                    allStrings &= element.isTextual();
+                }
+                if (allLongs) {
+                    return Kind.LONG_ARRAY;
+                }
+                if (allStrings) {
+                    return Kind.STRING_ARRAY;
+                }
+            }
+            return Kind.RAW;
+        }
+
+        private static long[] ensure(long[] array, int index) {
+            return index < array.length ? array : Arrays.copyOf(array, Math.max(16, Math.max(index + 1, array.length * 2)));
+        }
+
+        private static int[] ensure(int[] array, int index) {
+            return index < array.length ? array : Arrays.copyOf(array, Math.max(16, Math.max(index + 1, array.length * 2)));
+        }
+    }
+}
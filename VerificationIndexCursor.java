@@ -0,0 +1,53 @@
+package X.presentation.search.dto.verification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position of a cursor-paged verification search: the Elasticsearch point-in-time the pages are read from
+ * and the sort values of the last hit returned, fed back as {@code search_after} for the next page.
+ * {@code signature} is a server-side HMAC over the rest of the cursor and the search that produced it, so a client
+ * can neither edit the position nor reuse the cursor with other filters (see {@code VerificationCursorCodec}).
+ * Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationIndexCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @JsonProperty("pit_id")
+    private String pitId;
+
+    @JsonProperty("search_after")
+    private List<Object> searchAfter;
+
+    private String signature;
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static VerificationIndexCursor decode(String cursor) {
+        try {
+            return MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), VerificationIndexCursor.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
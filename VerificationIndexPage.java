@@ -0,0 +1,24 @@
+package X.presentation.search.dto.verification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paged verification search. {@code next_cursor} is null once the last page has been read.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationIndexPage {
+
+    private List<VerificationIndexResponse> items;
+
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+}
@@ -0,0 +1,39 @@
+package X.presentation.search.dto.verification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hits, exact total and requested facet counts of a verification search, all read from one Elasticsearch response.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationIndexSearchResult {
+
+    private List<VerificationIndexResponse> items;
+
+    @JsonProperty("total_count")
+    private long totalCount;
+
+    /** Buckets per requested facet field, e.g. {@code pageview_band}. */
+    private Map<String, List<Bucket>> facets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+
+        private String key;
+
+        @JsonProperty("doc_count")
+        private long docCount;
+    }
+}
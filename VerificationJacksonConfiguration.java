@@ -0,0 +1,29 @@
+package X.presentation.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import X.appcore.domain.model.es.verification.VerificationDashboardIndex;
+import X.presentation.search.dto.verification.VerificationIndexResponse;
+
+@Configuration
+public class VerificationJacksonConfiguration {
+
+    /**
+     * Leaves null fields out of serialized {@link VerificationDashboardIndex} and {@link VerificationIndexResponse}
+     * documents, so fields dropped by a {@code fields} / {@code exclude_fields} projection are not written back as
+     * {@code null}. This applies to unprojected responses too, whose null fields used to be written out; the
+     * endpoint descriptions in {@link VerificationController} say so.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer verificationDocumentsNonNull() {
+        return builder -> builder
+                .mixIn(VerificationDashboardIndex.class, NonNullFields.class)
+                .mixIn(VerificationIndexResponse.class, NonNullFields.class);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private interface NonNullFields {
+    }
+}
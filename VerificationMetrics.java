@@ -0,0 +1,131 @@
+package X.presentation.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint instrumentation of {@link VerificationController}. Each request is observed as
+ * {@code verification.request} and its {@code authorize} and {@code service} phases as
+ * {@code verification.phase} observations, so they show up both as timers and as spans of the request trace.
+ * The authorize phase is started by {@link ThemisAuthorizationFilter}, before the request observation exists, and
+ * overlaps body decoding: its span is part of the request trace but a sibling of {@code verification.request},
+ * not a child.
+ * The {@code encode} phase, from the service result to the response being written, is recorded by
+ * {@link VerificationEncodeTimingFilter}.
+ */
+@Component
+public class VerificationMetrics {
+
+    static final String ENCODE_CLOCK_KEY = VerificationMetrics.class.getName() + ".encodeClock";
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    public VerificationMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Endpoint tag of a {@link VerificationController} handler: its method name in snake case.
+     */
+    static String endpointName(Method method) {
+        return method.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    public <T> Mono<T> endpoint(String endpoint, Mono<T> handler) {
+        return handler
+                .doOnError(e -> countError(endpoint, e))
+                .name("verification.request")
+                .tag("endpoint", endpoint)
+                .tap(Micrometer.observation(observationRegistry));
+    }
+
+    public <T> Flux<T> endpoint(String endpoint, Flux<T> handler) {
+        return handler
+                .doOnError(e -> countError(endpoint, e))
+                .name("verification.request")
+                .tag("endpoint", endpoint)
+                .tap(Micrometer.observation(observationRegistry));
+    }
+
+    public Mono<Boolean> authorize(String endpoint, Mono<Boolean> authorization) {
+        return phase(endpoint, "authorize", authorization);
+    }
+
+    public <T> Mono<T> service(String endpoint, Mono<T> call) {
+        return Mono.deferContextual(context -> phase(endpoint, "service", call)
+                .doOnTerminate(() -> markServiceDone(context, endpoint)));
+    }
+
+    public <T> Flux<T> service(String endpoint, Flux<T> call) {
+        return Flux.deferContextual(context -> call
+                .doOnTerminate(() -> markServiceDone(context, endpoint))
+                .name("verification.phase")
+                .tag("endpoint", endpoint)
+                .tag("phase", "service")
+                .tap(Micrometer.observation(observationRegistry)));
+    }
+
+    void recordEncode(EncodeClock clock) {
+        if (clock.endpoint == null) {
+            return;
+        }
+        Timer.builder("verification.phase.encode")
+                .description("Time from the service result to the response being written")
+                .tag("endpoint", clock.endpoint)
+                .register(meterRegistry)
+                .record(System.nanoTime() - clock.serviceDoneAt, TimeUnit.NANOSECONDS);
+    }
+
+    private <T> Mono<T> phase(String endpoint, String phase, Mono<T> mono) {
+        return mono
+                .name("verification.phase")
+                .tag("endpoint", endpoint)
+                .tag("phase", phase)
+                .tap(Micrometer.observation(observationRegistry));
+    }
+
+    private void markServiceDone(ContextView context, String endpoint) {
+        context.<EncodeClock>getOrEmpty(ENCODE_CLOCK_KEY).ifPresent(clock -> {
+            clock.serviceDoneAt = System.nanoTime();
+            clock.endpoint = endpoint;
+        });
+    }
+
+    private void countError(String endpoint, Throwable e) {
+        if (e instanceof ResponseStatusException statusException && statusException.getStatusCode().value() == HttpStatus.FORBIDDEN.value()) {
+            Counter.builder("verification.requests.forbidden")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            return;
+        }
+        Counter.builder("verification.requests.errors")
+                .tag("endpoint", endpoint)
+                .tag("exception", e.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Per-request marker of when the service phase finished, carried in the Reactor context.
+     */
+    static final class EncodeClock {
+
+        private volatile String endpoint;
+        private volatile long serviceDoneAt;
+    }
+}
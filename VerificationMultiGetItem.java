@@ -0,0 +1,25 @@
+package X.presentation.search.dto.verification;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import X.appcore.domain.model.es.verification.VerificationDashboardIndex;
+
+/**
+ * One entry of a multi-get response, in the position of its id in the request. {@code document} is left out when not found.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationMultiGetItem {
+
+    private String id;
+
+    private boolean found;
+
+    private VerificationDashboardIndex document;
+}
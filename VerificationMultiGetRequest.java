@@ -0,0 +1,25 @@
+package X.presentation.search.dto.verification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationMultiGetRequest {
+
+    private List<String> ids;
+
+    /** Document fields to return; all fields when empty. */
+    private List<String> fields;
+
+    /** Document fields to leave out. */
+    @JsonProperty("exclude_fields")
+    private List<String> excludeFields;
+}
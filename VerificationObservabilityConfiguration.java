@@ -0,0 +1,36 @@
+package X.presentation.search;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics setup for the verification API. Spans and log lines of the Themis and Elasticsearch clients only carry the
+ * request's trace id across Reactor thread hops with {@code spring.reactor.context-propagation=auto}, an
+ * application-wide setting left to the application's configuration.
+ */
+@Configuration
+public class VerificationObservabilityConfiguration {
+
+    /**
+     * Publishes histogram buckets for the verification timers; with a tracing-enabled Prometheus registry
+     * the buckets carry exemplars pointing at the trace of a slow request.
+     */
+    @Bean
+    public MeterFilter verificationTimerHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() == Meter.Type.TIMER && id.getName().startsWith("verification.")) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+}
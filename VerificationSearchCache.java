@@ -0,0 +1,131 @@
+package X.presentation.search;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import X.presentation.search.dto.verification.VerificationIndexResponse;
+import X.presentation.search.dto.verification.VerificationIndexSearchRequest;
+import X.presentation.search.dto.verification.VerificationSourceFilter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches count results and first-page search results keyed on the normalized search request, so dashboards
+ * repeating the same filter set do not go back to Elasticsearch each time. Any write to the index calls
+ * {@link #invalidate()}. A write only becomes visible to searches at the next index refresh, so the cache is
+ * invalidated again once the refresh interval has passed; results loaded before then are never served after it.
+ */
+@Component
+public class VerificationSearchCache {
+
+    /** Request fields that do not change the number of matching documents. */
+    private static final Set<String> PAGING_FIELDS = Set.of("offset", "limit", "sort");
+
+    private final VerificationSearchRequestNormalizer normalizer;
+    private final AsyncCache<String, Cached<Long>> counts;
+    private final AsyncCache<String, Cached<List<VerificationIndexResponse>>> firstPages;
+    private final AtomicLong generation = new AtomicLong();
+    private final Timer servedAge;
+    private final Duration refreshInterval;
+
+    public VerificationSearchCache(
+            VerificationSearchRequestNormalizer normalizer,
+            MeterRegistry meterRegistry,
+            @Value("${verification.search-cache.ttl:30s}") Duration ttl,
+            @Value("${verification.search-cache.maximum-counts:10000}") long maximumCounts,
+            @Value("${verification.search-cache.maximum-hits:50000}") long maximumHits,
+            @Value("${verification.search-cache.refresh-interval:1s}") Duration refreshInterval
+    ) {
+        this.refreshInterval = refreshInterval;
+        this.normalizer = normalizer;
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumCounts)
+                .recordStats()
+                .buildAsync();
+        this.firstPages = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maximumHits)
+                .<String, Cached<List<VerificationIndexResponse>>>weigher((key, page) -> 1 + page.value().size())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "verification.count");
+        CaffeineCacheMetrics.monitor(meterRegistry, firstPages, "verification.search");
+        this.servedAge = Timer.builder("verification.search.cache.age")
+                .description("Age of cached count and search results when they are served")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Mono<Long> count(VerificationIndexSearchRequest request, Supplier<Mono<Long>> loader) {
+        ObjectNode normalized = normalizer.normalize(request);
+        normalized.remove(PAGING_FIELDS);
+        return cached(counts, normalized.toString(), loader);
+    }
+
+    /**
+     * Only the first page is cached; deeper pages are requested too rarely with the same filters to be worth it.
+     */
+    public Mono<List<VerificationIndexResponse>> search(
+            VerificationIndexSearchRequest request,
+            VerificationSourceFilter sourceFilter,
+            Supplier<Mono<List<VerificationIndexResponse>>> loader
+    ) {
+        ObjectNode normalized = normalizer.normalize(request);
+        if (normalized.path("offset").asLong(0) != 0) {
+            return loader.get();
+        }
+        normalized.set("_source", normalizer.normalize(sourceFilter));
+        return cached(firstPages, normalized.toString(), loader);
+    }
+
+    /**
+     * Drops everything cached now, and again after {@code verification.search-cache.refresh-interval}, which must be
+     * at least the index's {@code refresh_interval}: a search in between can still see the index as it was before
+     * the write.
+     */
+    public void invalidate() {
+        invalidateAll();
+        Mono.delay(refreshInterval).subscribe(ignored -> invalidateAll());
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        counts.synchronous().invalidateAll();
+        firstPages.synchronous().invalidateAll();
+    }
+
+    private <T> Mono<T> cached(AsyncCache<String, Cached<T>> cache, String key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            long current = generation.get();
+            CompletableFuture<Cached<T>> future = cache.get(key, (k, executor) -> loader.get()
+                    .map(value -> new Cached<>(value, current, System.nanoTime()))
+                    .toFuture());
+            return Mono.fromFuture(future, true)
+                    .flatMap(cached -> {
+                        if (cached.generation() != generation.get()) {
+                            // loaded while a write was in flight
+                            cache.asMap().remove(key, future);
+                            return loader.get();
+                        }
+                        servedAge.record(System.nanoTime() - cached.loadedAt(), TimeUnit.NANOSECONDS);
+                        return Mono.just(cached.value());
+                    });
+        });
+    }
+
+    private record Cached<T>(T value, long generation, long loadedAt) {
+    }
+}
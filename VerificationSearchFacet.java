@@ -0,0 +1,27 @@
+package X.presentation.search.dto.verification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Fields a verification search can be faceted on, named as in the search request.
+ */
+@Getter
+@AllArgsConstructor
+public enum VerificationSearchFacet {
+
+    PAGEVIEW_BAND("pageview_band"),
+    BRAND_IDS("brand_ids"),
+    COMPETITORS("competitors");
+
+    private final String field;
+
+    public static Optional<VerificationSearchFacet> fromField(String field) {
+        return Arrays.stream(values())
+                .filter(facet -> facet.field.equals(field))
+                .findFirst();
+    }
+}
@@ -0,0 +1,73 @@
+package X.presentation.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+import X.presentation.search.dto.verification.VerificationIndexSearchRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Canonical JSON form of verification search requests: object fields sorted, nulls dropped and filter value lists
+ * sorted, so that the same filter set built in a different order maps to the same form. {@code sort} keeps its order.
+ */
+@Component
+public class VerificationSearchRequestNormalizer {
+
+    private final ObjectMapper objectMapper;
+
+    public VerificationSearchRequestNormalizer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ObjectNode normalize(VerificationIndexSearchRequest request) {
+        return (ObjectNode) normalize((Object) request);
+    }
+
+    public JsonNode normalize(Object value) {
+        return normalize(objectMapper.valueToTree(value), false);
+    }
+
+    /**
+     * Canonical form of the filters and sort of {@code request}, ignoring {@code offset} and {@code limit}. Two
+     * requests with the same key select and order the same documents.
+     */
+    public String searchKey(VerificationIndexSearchRequest request) {
+        ObjectNode normalized = normalize(request);
+        normalized.remove(List.of("offset", "limit"));
+        return normalized.toString();
+    }
+
+    private JsonNode normalize(JsonNode node, boolean ordered) {
+        if (node.isObject()) {
+            Map<String, JsonNode> fields = new TreeMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (!field.getValue().isNull()) {
+                    fields.put(field.getKey(), normalize(field.getValue(), "sort".equals(field.getKey())));
+                }
+            }
+            ObjectNode normalized = objectMapper.createObjectNode();
+            normalized.setAll(fields);
+            return normalized;
+        }
+        if (node.isArray()) {
+            List<JsonNode> elements = new ArrayList<>();
+            node.forEach(element -> elements.add(normalize(element, ordered)));
+            if (!ordered && elements.stream().allMatch(JsonNode::isValueNode)) {
+                elements.sort(Comparator.comparing(JsonNode::toString));
+            }
+            ArrayNode normalized = objectMapper.createArrayNode();
+            normalized.addAll(elements);
+            return normalized;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,46 @@
+package X.presentation.search.dto.verification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Fields to fetch from a verification document, mapped onto Elasticsearch {@code _source} includes and excludes.
+ * Both lists empty means the whole document.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationSourceFilter {
+
+    private List<String> includes;
+
+    private List<String> excludes;
+
+    public static VerificationSourceFilter of(List<String> includes, List<String> excludes) {
+        return new VerificationSourceFilter(
+                includes == null ? List.of() : includes,
+                excludes == null ? List.of() : excludes);
+    }
+
+    /**
+     * This filter with {@code field} always fetched: added to the includes unless they are empty, and removed from
+     * the excludes.
+     */
+    public VerificationSourceFilter including(String field) {
+        List<String> withField = includes == null || includes.isEmpty() || includes.contains(field)
+                ? includes
+                : Stream.concat(includes.stream(), Stream.of(field)).toList();
+        List<String> withoutField = excludes == null ? null : excludes.stream().filter(excluded -> !excluded.equals(field)).toList();
+        return new VerificationSourceFilter(withField, withoutField);
+    }
+
+    public boolean isEmpty() {
+        return (includes == null || includes.isEmpty()) && (excludes == null || excludes.isEmpty());
+    }
+}
@@ -0,0 +1,143 @@
+package X.presentation.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import X.appcore.service.aggregation.VerificationDashboardIndexUpdater;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collapses bursts of sync requests for the same master product. Requests arriving before a sync has started
+ * share it; requests arriving while it runs share a single follow-up sync that starts once it finishes.
+ * Sync work across all products runs through one queue with bounded concurrency. Syncs of one product never
+ * overlap within this instance; writes from other instances are caught by the conditional updates of
+ * {@link VerificationDashboardIndexUpdater}.
+ */
+@Component
+@Slf4j
+public class VerificationSyncCoalescer {
+
+    private final VerificationDashboardIndexUpdater verificationDashboardIndexUpdater;
+    private final Sinks.Many<Mono<Void>> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable worker;
+
+    // guarded by this
+    private final Map<Long, Slot> slots = new HashMap<>();
+
+    public VerificationSyncCoalescer(
+            VerificationDashboardIndexUpdater verificationDashboardIndexUpdater,
+            @Value("${verification.sync.max-concurrency:4}") int maxConcurrency
+    ) {
+        this.verificationDashboardIndexUpdater = verificationDashboardIndexUpdater;
+        this.worker = queue.asFlux()
+                .flatMap(sync -> sync, maxConcurrency)
+                .subscribe();
+    }
+
+    /**
+     * Syncs {@code masterProductId}, sharing a pending or follow-up run when there is one. The run's own duration,
+     * without its time in the queue, is reported as the caller's {@link BackendLatency}.
+     */
+    public Mono<Void> sync(Long masterProductId) {
+        return Mono.deferContextual(context -> {
+            Run run;
+            boolean schedule = false;
+            synchronized (this) {
+                Slot slot = slots.get(masterProductId);
+                if (slot == null) {
+                    slot = new Slot(new Run());
+                    slots.put(masterProductId, slot);
+                    run = slot.running;
+                    schedule = true;
+                } else if (!slot.running.started) {
+                    run = slot.running;
+                } else {
+                    if (slot.pending == null) {
+                        slot.pending = new Run();
+                    }
+                    run = slot.pending;
+                }
+            }
+            if (schedule) {
+                enqueue(masterProductId, run);
+            } else {
+                log.debug("Coalesced sync of verification index: {}", masterProductId);
+            }
+            return run.done.asMono()
+                    .doFinally(signal -> BackendLatency.record(context, run.workNanos));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.dispose();
+    }
+
+    private void enqueue(Long masterProductId, Run run) {
+        queue.emitNext(execute(masterProductId, run), Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    private Mono<Void> execute(Long masterProductId, Run run) {
+        return Mono.defer(() -> {
+                    synchronized (this) {
+                        run.started = true;
+                    }
+                    run.startedAt = System.nanoTime();
+                    return verificationDashboardIndexUpdater.sync(masterProductId);
+                })
+                .doOnSuccess(ignored -> finish(masterProductId, run, null))
+                .onErrorResume(e -> {
+                    finish(masterProductId, run, e);
+                    return Mono.empty();
+                });
+    }
+
+    private void finish(Long masterProductId, Run run, Throwable error) {
+        run.workNanos = System.nanoTime() - run.startedAt;
+        Run next;
+        synchronized (this) {
+            Slot slot = slots.get(masterProductId);
+            next = slot.pending;
+            if (next == null) {
+                slots.remove(masterProductId);
+            } else {
+                slot.running = next;
+                slot.pending = null;
+            }
+        }
+        if (next != null) {
+            enqueue(masterProductId, next);
+        }
+        if (error == null) {
+            run.done.tryEmitEmpty();
+        } else {
+            run.done.tryEmitError(error);
+        }
+    }
+
+    private static final class Slot {
+
+        private Run running;
+        private Run pending;
+
+        Slot(Run running) {
+            this.running = running;
+        }
+    }
+
+    private static final class Run {
+
+        private final Sinks.Empty<Void> done = Sinks.empty();
+        private boolean started;
+        private volatile long startedAt;
+        /** How long the run took, or -1 while it has not finished. */
+        private volatile long workNanos = -1;
+    }
+}
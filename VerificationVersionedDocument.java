@@ -0,0 +1,22 @@
+package X.presentation.search.dto.verification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import X.appcore.domain.model.es.verification.VerificationDashboardIndex;
+
+/**
+ * A stored verification document with the Elasticsearch {@code _seq_no} and {@code _primary_term} it was read at,
+ * for writing it back only if nobody else has changed it since.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationVersionedDocument {
+
+    private VerificationDashboardIndex document;
+
+    private long seqNo;
+
+    private long primaryTerm;
+}
@@ -0,0 +1,106 @@
+package example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.w3c.dom.Document;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hardened XML parsing through {@link XmlUtils} against the per-call pattern of building and hardening a new
+ * {@link DocumentBuilderFactory} for every document, and the DOM path against StAX and SAX streaming over the
+ * same feed. Run {@link #main} to include the gc profiler; its normalized allocation rate shows how much of each
+ * document a parse keeps materialized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class XmlParsingBenchmark {
+
+    /** Number of item elements in the parsed document. */
+    @Param({"1", "100", "10000"})
+    public int items;
+
+    private byte[] document;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder xml = new StringBuilder("<items>");
+        for (int i = 0; i < items; i++) {
+            xml.append("<item id=\"").append(i).append("\"><name>Con Chim Joong Bay Từ A Đến Z</name><price>180000.0</price></item>");
+        }
+        document = xml.append("</items>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Document perCallFactory() throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        return dbf.newDocumentBuilder().parse(new ByteArrayInputStream(document));
+    }
+
+    @Benchmark
+    public Document sharedFactoryThreadLocalBuilder() throws Exception {
+        return XmlUtils.parse(new ByteArrayInputStream(document));
+    }
+
+    @Benchmark
+    public int domTraversal() throws Exception {
+        return XmlUtils.parse(new ByteArrayInputStream(document)).getElementsByTagName("item").getLength();
+    }
+
+    @Benchmark
+    public int staxStreaming() throws Exception {
+        int[] count = new int[1];
+        XmlUtils.forEachElement(new ByteArrayInputStream(document), "item", item -> count[0]++);
+        return count[0];
+    }
+
+    @Benchmark
+    public int saxStreaming() throws Exception {
+        int[] count = new int[1];
+        XmlUtils.parse(new ByteArrayInputStream(document), new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                if ("item".equals(localName)) {
+                    count[0]++;
+                }
+            }
+        });
+        return count[0];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(XmlParsingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
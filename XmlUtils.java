@@ -0,0 +1,254 @@
+package example;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * XML parsing hardened against XXE: DOCTYPE declarations are rejected outright, and external entities, external
+ * DTDs and XInclude are disabled as a second line of defence.
+ *
+ * <p>{@link DocumentBuilderFactory#newInstance()} does a service lookup on every call, so the hardened factory is
+ * built once. {@link DocumentBuilder}s are not thread-safe, so each thread gets its own, {@code reset()} before
+ * every use. Parse errors are thrown, never printed: without an error handler the JDK builder also writes every
+ * rejected payload to stderr as {@code [Fatal Error]}.
+ *
+ * <p>For documents too large to hold as one DOM tree, {@link #forEachElement} streams them through StAX with
+ * constant memory, and {@link #parse(InputStream, DefaultHandler)} through SAX, with the same protections.
+ */
+public final class XmlUtils {
+
+    private static final DocumentBuilderFactory SHARED_FACTORY;
+
+    static {
+        try {
+            SHARED_FACTORY = getSecureDocumentBuilderFactory();
+        } catch (ParserConfigurationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ErrorHandler RETHROWING_ERROR_HANDLER = new ErrorHandler() {
+        @Override
+        public void warning(SAXParseException exception) {
+        }
+
+        @Override
+        public void error(SAXParseException exception) throws SAXException {
+            throw exception;
+        }
+
+        @Override
+        public void fatalError(SAXParseException exception) throws SAXException {
+            throw exception;
+        }
+    };
+
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDERS = ThreadLocal.withInitial(() -> {
+        try {
+            // DocumentBuilderFactory itself is not guaranteed to be thread-safe
+            synchronized (SHARED_FACTORY) {
+                return SHARED_FACTORY.newDocumentBuilder();
+            }
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Secure DocumentBuilder could not be created", e);
+        }
+    });
+
+    private static final SAXParserFactory SHARED_SAX_FACTORY;
+
+    static {
+        try {
+            SHARED_SAX_FACTORY = getSecureSAXParserFactory();
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ThreadLocal<SAXParser> SAX_PARSERS = ThreadLocal.withInitial(XmlUtils::newSAXParser);
+
+    // set while the thread's SAXParser is parsing, so a handler that parses again gets its own parser
+    private static final ThreadLocal<boolean[]> SAX_PARSER_IN_USE = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    // XMLInputFactory implementations may reuse reader instances internally, so they are not shared across threads
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORIES = ThreadLocal.withInitial(XmlUtils::getSecureXMLInputFactory);
+
+    private XmlUtils() {
+    }
+
+    /**
+     * A new hardened factory, for callers that need to tune it further. Prefer {@link #documentBuilder()}.
+     */
+    public static DocumentBuilderFactory getSecureDocumentBuilderFactory() throws ParserConfigurationException {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        dbf.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        dbf.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        dbf.setXIncludeAware(false);
+        dbf.setExpandEntityReferences(false);
+        return dbf;
+    }
+
+    public static SAXParserFactory getSecureSAXParserFactory() throws ParserConfigurationException, SAXException {
+        SAXParserFactory spf = SAXParserFactory.newInstance();
+        spf.setNamespaceAware(true);
+        spf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        spf.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        spf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        spf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        spf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        spf.setXIncludeAware(false);
+        return spf;
+    }
+
+    public static XMLInputFactory getSecureXMLInputFactory() {
+        XMLInputFactory xif = XMLInputFactory.newFactory();
+        xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xif.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        xif.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        xif.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        return xif;
+    }
+
+    /**
+     * The calling thread's hardened builder, reset to its initial state with an error handler that rethrows. Do not
+     * hand it to another thread.
+     */
+    public static DocumentBuilder documentBuilder() {
+        DocumentBuilder builder = DOCUMENT_BUILDERS.get();
+        builder.reset();
+        // reset() drops the error handler, so it is set again on every use
+        builder.setErrorHandler(RETHROWING_ERROR_HANDLER);
+        return builder;
+    }
+
+    public static Document parse(InputStream in) throws SAXException, IOException {
+        return documentBuilder().parse(in);
+    }
+
+    /**
+     * SAX parse with the calling thread's hardened parser. A parser cannot start a new parse while one is in
+     * progress (Xerces fails with FWK005), so a call made from inside {@code handler} on the same thread uses a fresh
+     * hardened parser instead.
+     */
+    public static void parse(InputStream in, DefaultHandler handler) throws SAXException, IOException {
+        boolean[] inUse = SAX_PARSER_IN_USE.get();
+        if (inUse[0]) {
+            newSAXParser().parse(in, handler);
+            return;
+        }
+        SAXParser parser = SAX_PARSERS.get();
+        parser.reset();
+        inUse[0] = true;
+        try {
+            parser.parse(in, handler);
+        } finally {
+            inUse[0] = false;
+        }
+    }
+
+    private static SAXParser newSAXParser() {
+        try {
+            synchronized (SHARED_SAX_FACTORY) {
+                return SHARED_SAX_FACTORY.newSAXParser();
+            }
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Secure SAXParser could not be created", e);
+        }
+    }
+
+    /**
+     * Streams {@code in} and hands every element named {@code localName} to {@code handler} as a detached DOM
+     * element, one at a time. Only the element being handled is in memory, so feeds of any size can be processed
+     * with constant memory as long as a single element is small. Elements nested inside a matching element are
+     * delivered as part of it. A document with a DOCTYPE is rejected.
+     */
+    public static void forEachElement(InputStream in, String localName, Consumer<Element> handler) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORIES.get().createXMLStreamReader(in);
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.DTD) {
+                    throw new XMLStreamException("DOCTYPE is not allowed", reader.getLocation());
+                }
+                if (event == XMLStreamConstants.START_ELEMENT && localName.equals(reader.getLocalName())) {
+                    handler.accept(readElement(reader, documentBuilder().newDocument()));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Builds the element the reader is positioned on, leaving the reader on its end tag.
+     */
+    private static Element readElement(XMLStreamReader reader, Document document) throws XMLStreamException {
+        Element root = createElement(reader, document);
+        Node current = root;
+        while (current != null) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    Element child = createElement(reader, document);
+                    current.appendChild(child);
+                    current = child;
+                }
+                case XMLStreamConstants.END_ELEMENT -> current = current == root ? null : current.getParentNode();
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE ->
+                        current.appendChild(document.createTextNode(reader.getText()));
+                case XMLStreamConstants.CDATA -> current.appendChild(document.createCDATASection(reader.getText()));
+                case XMLStreamConstants.DTD -> throw new XMLStreamException("DOCTYPE is not allowed", reader.getLocation());
+                default -> {
+                }
+            }
+        }
+        return root;
+    }
+
+    private static Element createElement(XMLStreamReader reader, Document document) {
+        Element element = document.createElementNS(emptyToNull(reader.getNamespaceURI()), qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+                    prefix == null || prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix,
+                    reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(emptyToNull(reader.getAttributeNamespace(i)),
+                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}